@@ -0,0 +1,17 @@
+package bot.staro.rokit;
+
+/**
+ * Events implementing this can be cancelled by a listener.
+ * Once an event is cancelled, the remaining lower-priority listeners are skipped,
+ * except for those declared with {@link Listener#receiveCancelled()}.
+ */
+public interface Cancellable {
+    boolean isCancelled();
+
+    void setCancelled(boolean cancelled);
+
+    default void cancel() {
+        setCancelled(true);
+    }
+
+}
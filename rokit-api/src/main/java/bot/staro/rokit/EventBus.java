@@ -1,5 +1,9 @@
 package bot.staro.rokit;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A central bus for managing events and subscribers.
  * An event is a generic object that is to be dispatched to the registered listeners.
@@ -14,18 +18,95 @@ public interface EventBus {
     <E> void post(E event);
 
     /**
-     * Dispatches an event to all registered consumers.
+     * Dispatches an event to all registered consumers without looking up its type.
+     * Unknown ids, ids that do not match the class of the event and ids of generic events fall back to {@link #post(Object)}.
      * @param event is a generic object that is to be dispatched.
-     * @param id is an id of the event.
+     * @param id is the id of the event type from the generated EventIds class.
      * @param <E> is a generic type.
      */
     <E> void post(E event, int id);
 
+    /**
+     * Dispatches every event of the array in order, as if each was posted on its own.
+     * Consecutive events of the same type are dispatched together, so their listeners and providers are looked up once.
+     * Listeners subscribed or unsubscribed by a listener take effect with the next type.
+     * @param events are generic objects that are to be dispatched. Null elements are skipped.
+     * @param <E> is a generic type.
+     */
+    <E> void postAll(E[] events);
+
+    /**
+     * Dispatches every event of the list in order, as if each was posted on its own.
+     * Consecutive events of the same type are dispatched together, so their listeners and providers are looked up once.
+     * Listeners subscribed or unsubscribed by a listener take effect with the next type.
+     * @param events are generic objects that are to be dispatched. Null elements are skipped.
+     * @param <E> is a generic type.
+     */
+    <E> void postAll(List<E> events);
+
+    /**
+     * Dispatches an event on the bus executor.
+     * @param event is a generic object that is to be dispatched.
+     * @param <E> is a generic type.
+     * @return a future that completes once every listener, including the asynchronous ones, has finished.
+     */
+    <E> CompletableFuture<Void> postAsync(E event);
+
+    /**
+     * Queues an event to be dispatched by a later {@link #drain(int)}. Can be called from any thread.
+     * @param event is a generic object that is to be dispatched.
+     * @param <E> is a generic type.
+     * @return true if the event was queued, false if the queue was full and its overflow policy rejected the event.
+     */
+    <E> boolean enqueue(E event);
+
+    /**
+     * Dispatches queued events on the calling thread in the order they were queued.
+     * Consecutive events of the same type are dispatched together, so their listeners and providers are looked up once.
+     * Listeners subscribed or unsubscribed by a listener take effect with the next type.
+     * Meant to be called by a single owner thread, calls made by a listener during a drain return 0.
+     * An exception thrown by a listener ends the drain, the events after the one it was thrown for are dispatched by the next drain.
+     * @param maxEvents is the maximum number of events to dispatch.
+     * @return the number of dispatched events.
+     */
+    int drain(int maxEvents);
+
     /**
      * Subscribes a listener object by delegating to the compile-time-generated registry.
      * @param subscriber is an object that is being subscribed for receiving listeners.
+     * @return the subscription made by this call, closing it unsubscribes. Empty if the subscriber was already subscribed.
      */
-    void subscribe(Object subscriber);
+    Subscription subscribe(Object subscriber);
+
+    /**
+     * Subscribes a listener object as a member of a tag, so it can be switched on and off together with the other members.
+     * @param subscriber is an object that is being subscribed for receiving listeners.
+     * @param tag is the name of the group, see {@link #setTagEnabled(String, boolean)}.
+     * @return the subscription made by this call, closing it unsubscribes. Empty if the subscriber was already subscribed.
+     */
+    Subscription subscribe(Object subscriber, String tag);
+
+    /**
+     * Subscribes a listener object without keeping it reachable. Once it is garbage collected it stops receiving events,
+     * and its subscription is cleaned up by a later subscribe or {@link #drain(int)}.
+     * @param subscriber is an object that is being subscribed for receiving listeners.
+     * @return the subscription made by this call, it does not keep the subscriber reachable either.
+     */
+    Subscription subscribeWeak(Object subscriber);
+
+    /**
+     * Subscribes a listener object while the scope runs, it is unsubscribed afterwards even if the scope throws.
+     * @param subscriber is an object that is being subscribed for receiving listeners.
+     * @param scope is the code during which the subscriber receives events.
+     */
+    default void subscribeScoped(final Object subscriber, final Runnable scope) {
+        final Subscription subscription = subscribe(subscriber);
+        try {
+            scope.run();
+        } finally {
+            subscription.close();
+        }
+    }
 
     /**
      * Unsubscribes by delegating to the generated registry.
@@ -33,6 +114,35 @@ public interface EventBus {
      */
     void unsubscribe(Object subscriber);
 
+    /**
+     * Subscribes every listener object of the collection. Each affected event is updated once for the whole collection.
+     * @param subscribers are objects that are being subscribed for receiving listeners.
+     */
+    void subscribeAll(Collection<?> subscribers);
+
+    /**
+     * Unsubscribes every listener object of the collection. Each affected event is updated once for the whole collection.
+     * @param subscribers are objects that are being unsubscribed.
+     */
+    void unsubscribeAll(Collection<?> subscribers);
+
+    /**
+     * Switches the listeners of a subscriber on or off without unsubscribing them.
+     * Disabled listeners keep their place and priority and are skipped by dispatch. They still count for {@link #hasListeners(Class)}.
+     * @param subscriber is a subscribed object.
+     * @param enabled is whether its listeners receive events.
+     * @return false if the subscriber is not subscribed.
+     */
+    boolean setEnabled(Object subscriber, boolean enabled);
+
+    /**
+     * Switches every subscriber of a tag on or off, including subscribers that join the tag later.
+     * A subscriber receives events only while both its tag and itself are enabled.
+     * @param tag is the name of the group used with {@link #subscribe(Object, String)}.
+     * @param enabled is whether the members of the tag receive events.
+     */
+    void setTagEnabled(String tag, boolean enabled);
+
     /**
      * Checks if the given listener is being currently subscribed to the event bus.
      * @param subscriber is an object that is being subscribed for receiving listeners.
@@ -40,4 +150,30 @@ public interface EventBus {
      */
     boolean isSubscribed(Object subscriber);
 
+    /**
+     * Checks if posting an event of the given type could reach a listener, so producers can skip building events nobody receives.
+     * @param type is the runtime class of the event.
+     * @return true if a listener of the type or one of its supertypes is subscribed, false otherwise.
+     */
+    boolean hasListeners(Class<?> type);
+
+    /**
+     * Checks if posting an event with the given id could reach a listener.
+     * @param id is the id of the event type from the generated EventIds class.
+     * @return true if a listener of the event type or one of its supertypes is subscribed, false otherwise.
+     */
+    boolean hasListeners(int id);
+
+    /**
+     * Describes the listeners of this bus for tuning, e.g. to find events with many listeners or providers that are resolved needlessly.
+     * @return a JSON document with the live listener count of every event type per generated registry,
+     * next to the compile-time report of the registry if it was generated with {@code -Arokit.report=true}.
+     */
+    String describe();
+
+    /**
+     * Starts a new provider epoch. Providers registered as cached resolve their value again on the next post that needs them.
+     */
+    void invalidateProviders();
+
 }
\ No newline at end of file
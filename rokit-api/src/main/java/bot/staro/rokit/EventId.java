@@ -0,0 +1,18 @@
+package bot.staro.rokit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pins the id of an event type in the generated EventIds class, so it stays the same across builds
+ * and can be hard-coded by code compiled against an earlier build.
+ * Events without a pinned id get the lowest free ids in the order of their names.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface EventId {
+    int value();
+
+}
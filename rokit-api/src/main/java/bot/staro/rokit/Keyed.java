@@ -0,0 +1,11 @@
+package bot.staro.rokit;
+
+/**
+ * Events implementing this carry a discriminator, e.g. a packet type.
+ * Listeners declared with {@link Listener#key()} only receive events with one of their keys,
+ * and posting an event only touches the listeners of its key and the listeners without a key.
+ */
+public interface Keyed {
+    int key();
+
+}
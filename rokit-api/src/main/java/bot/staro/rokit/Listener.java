@@ -13,4 +13,24 @@ import java.lang.annotation.Target;
 public @interface Listener {
     int priority() default 0;
 
+    /**
+     * If true, the listener is handed to an executor instead of running on the posting thread.
+     */
+    boolean async() default false;
+
+    /**
+     * Name of the executor registered on the bus builder that runs this listener. Empty selects the default executor.
+     */
+    String executor() default "";
+
+    /**
+     * If true, the listener still receives {@link Cancellable} events after a higher-priority listener cancelled them.
+     */
+    boolean receiveCancelled() default false;
+
+    /**
+     * The keys of the {@link Keyed} events this listener receives. Empty receives every event.
+     */
+    int[] key() default {};
+
 }
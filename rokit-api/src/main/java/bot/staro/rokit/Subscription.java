@@ -0,0 +1,21 @@
+package bot.staro.rokit;
+
+/**
+ * The listeners one subscribe call added to a bus. Closing the subscription removes exactly those listeners,
+ * so it suits try-with-resources for temporary listeners.
+ * Closing still drops the subscriber from the bus's subscriber map, and every bucket it leaves is copied without it,
+ * so it costs about as much as an unsubscribe but searches only the listeners of the same priority.
+ */
+public interface Subscription extends AutoCloseable {
+    /**
+     * Removes the listeners of this subscription. Does nothing if they were already removed, e.g. by an unsubscribe.
+     */
+    @Override
+    void close();
+
+    /**
+     * Switches the listeners of this subscription on or off without unsubscribing them. Does not allocate.
+     */
+    void setEnabled(boolean enabled);
+
+}
@@ -0,0 +1,43 @@
+package bot.staro.rokit.binder;
+
+import bot.staro.rokit.spi.ParamBinder;
+import bot.staro.rokit.spi.ProviderAwareBinder;
+import com.google.auto.service.AutoService;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binds listener parameters of type {@code bot.staro.rokit.Player} to the "player" provider.
+ * Listeners with such a parameter are skipped while the provider returns null.
+ * Only used by the benchmarks to measure provider-guarded listeners.
+ */
+@AutoService(ParamBinder.class)
+public final class PlayerBinder implements ProviderAwareBinder {
+    private static final String PLAYER_TYPE = "bot.staro.rokit.Player";
+    private static final String PROVIDER = "player";
+
+    @Override
+    public boolean supports(final ExecutableElement method, final VariableElement parameter, final ProcessingEnvironment environment) {
+        return parameter.asType().toString().equals(PLAYER_TYPE);
+    }
+
+    @Override
+    public String patternKey(final ExecutableElement method, final VariableElement parameter, final ProcessingEnvironment environment) {
+        return PLAYER_TYPE;
+    }
+
+    @Override
+    public Binding plan(final ExecutableElement method, final VariableElement parameter, final ProcessingEnvironment environment) {
+        return new Binding(Set.of(PROVIDER), Set.of(), PROVIDER);
+    }
+
+    @Override
+    public Map<String, String> requiredProviders(final ExecutableElement method, final VariableElement parameter, final ProcessingEnvironment environment) {
+        return Map.of(PROVIDER, PLAYER_TYPE);
+    }
+
+}
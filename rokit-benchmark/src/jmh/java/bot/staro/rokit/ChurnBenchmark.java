@@ -0,0 +1,56 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.rokitbus.ScalingListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscribes and unsubscribes listeners on a bus that already holds a number of subscribers of the same event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ChurnBenchmark {
+    private static final int BATCH = 100;
+
+    @Param({"0", "1000"})
+    public int subscribers;
+
+    private EventBus eventBus;
+    private ScalingListener listener;
+    private List<Object> batch;
+
+    @Setup
+    public void setup() {
+        eventBus = RokitEventBus.builder().build();
+        for (int i = 0; i < subscribers; i++) {
+            eventBus.subscribe(new ScalingListener());
+        }
+
+        listener = new ScalingListener();
+        batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(new ScalingListener());
+        }
+    }
+
+    @Benchmark
+    public void subscribeUnsubscribe() {
+        eventBus.subscribe(listener);
+        eventBus.unsubscribe(listener);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void subscribeAllUnsubscribeAll() {
+        eventBus.subscribeAll(batch);
+        eventBus.unsubscribeAll(batch);
+    }
+
+}
@@ -0,0 +1,52 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.rokitbus.RokitListener;
+import bot.staro.rokit.rokitbus.ScalingListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts to one shared bus from several threads, with and without a thread that keeps subscribing and unsubscribing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ConcurrentPostBenchmark {
+    private EventBus eventBus;
+    private Event event;
+    private ScalingListener churned;
+
+    @Setup
+    public void setup() {
+        eventBus = RokitEventBus.builder().build();
+        eventBus.subscribe(new RokitListener());
+        event = new Event();
+        churned = new ScalingListener();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void post() {
+        eventBus.post(event);
+    }
+
+    @Benchmark
+    @Group("postWhileChurning")
+    @GroupThreads(3)
+    public void poster() {
+        eventBus.post(event);
+    }
+
+    @Benchmark
+    @Group("postWhileChurning")
+    @GroupThreads(1)
+    public void churner() {
+        eventBus.subscribe(churned);
+        eventBus.unsubscribe(churned);
+    }
+
+}
@@ -0,0 +1,62 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.rokitbus.generated.ProviderKeys;
+import bot.staro.rokit.rokitbus.GuardedListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues a tick worth of events and dispatches them on the owner thread,
+ * with the built-in queue and with a {@link ConcurrentLinkedQueue} in front of {@link EventBus#post(Object)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(DrainBenchmark.EVENTS)
+public class DrainBenchmark {
+    static final int EVENTS = 256;
+
+    private EventBus bus;
+    private ConcurrentLinkedQueue<Object> linked;
+    private TickEvent event;
+
+    @Setup
+    public void setup() {
+        final Player player = new Player("staro");
+        bus = RokitEventBus.builder().withProvider(ProviderKeys.PLAYER, () -> player).withQueue(EVENTS, OverflowPolicy.REJECT).build();
+        bus.subscribe(new GuardedListener());
+        linked = new ConcurrentLinkedQueue<>();
+        event = new TickEvent();
+    }
+
+    @Benchmark
+    public int enqueueAndDrain() {
+        for (int i = 0; i < EVENTS; i++) {
+            bus.enqueue(event);
+        }
+
+        return bus.drain(EVENTS);
+    }
+
+    @Benchmark
+    public int linkedQueueAndPost() {
+        for (int i = 0; i < EVENTS; i++) {
+            linked.offer(event);
+        }
+
+        int drained = 0;
+        Object next;
+        while ((next = linked.poll()) != null) {
+            bus.post(next);
+            drained++;
+        }
+
+        return drained;
+    }
+
+}
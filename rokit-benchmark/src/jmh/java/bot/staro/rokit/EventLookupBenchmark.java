@@ -0,0 +1,49 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.events.LookupEvents;
+import bot.staro.rokit.rokitbus.LookupListeners;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts events of a growing number of types in turn and reports the cost per post.
+ * The event type is resolved by a table lookup, so posting over 500 types should cost about the same as over 10.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EventLookupBenchmark {
+    @Param({"10", "100", "500"})
+    public int types;
+
+    private EventBus eventBus;
+    private Object[] events;
+    private int next;
+
+    @Setup
+    public void setup(final Blackhole blackhole) throws ReflectiveOperationException {
+        eventBus = RokitEventBus.builder().build();
+        for (final Object listener : LookupListeners.all(blackhole::consume)) {
+            eventBus.subscribe(listener);
+        }
+
+        // Spread over all 500 types, so the smaller sets do not only hit the first cases of the generated switch.
+        events = new Object[types];
+        for (int i = 0; i < types; i++) {
+            final int index = i * (LookupEvents.COUNT / types);
+            events[i] = Class.forName(LookupEvents.class.getName() + "$E" + String.format("%03d", index)).getConstructor().newInstance();
+        }
+    }
+
+    @Benchmark
+    public void post() {
+        eventBus.post(events[next]);
+        next = next + 1 == events.length ? 0 : next + 1;
+    }
+
+}
@@ -0,0 +1,62 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.events.*;
+import bot.staro.rokit.rokitbus.SinkListener;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares plain events with generic wrapped events, which are routed on their payload type,
+ * and posts every event type known to the registry in turn to measure the type lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EventTypeBenchmark {
+    private EventBus eventBus;
+    private Event plain;
+    private WrappedEvent<String> wrappedString;
+    private WrappedEvent<Integer> wrappedInteger;
+    private Object[] events;
+    private int next;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        eventBus = RokitEventBus.builder().build();
+        eventBus.subscribe(new SinkListener(blackhole::consume));
+        plain = new Event();
+        wrappedString = new WrappedEvent<>("payload");
+        wrappedInteger = new WrappedEvent<>(42);
+        events = new Object[] {
+                new AEvent(), new BEvent(), new CEvent(), new DEvent(), new EEvent(), new FEvent(), new GEvent(),
+                new HEvent(), new IEvent(), new Jevent(), new KEvent(), new LEvent(), new MEvent(), new NEvent()
+        };
+    }
+
+    @Benchmark
+    public void plain() {
+        eventBus.post(plain);
+    }
+
+    @Benchmark
+    public void wrappedString() {
+        eventBus.post(wrappedString);
+    }
+
+    @Benchmark
+    public void wrappedInteger() {
+        eventBus.post(wrappedInteger);
+    }
+
+    @Benchmark
+    public void mixedTypes() {
+        eventBus.post(events[next]);
+        next = next + 1 == events.length ? 0 : next + 1;
+    }
+
+}
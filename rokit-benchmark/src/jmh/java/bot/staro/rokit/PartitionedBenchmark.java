@@ -0,0 +1,54 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.rokitbus.EntityListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts a tick worth of entity updates to a partitioned bus and waits for every lane, with a growing number of lanes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(PartitionedBenchmark.EVENTS)
+public class PartitionedBenchmark {
+    static final int EVENTS = 4096;
+    static final int ENTITIES = 512;
+
+    @Param({"1", "2", "4", "8"})
+    public int lanes;
+
+    private PartitionedEventBus bus;
+    private EntityEvent[] events;
+
+    @Setup
+    public void setup() {
+        bus = RokitEventBus.builder()
+                .withQueue(EVENTS, OverflowPolicy.BLOCK)
+                .buildPartitioned(lanes, event -> ((EntityEvent) event).entityId());
+        bus.subscribePerLane(lane -> new EntityListener());
+        events = new EntityEvent[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = new EntityEvent(i % ENTITIES, i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bus.close();
+    }
+
+    @Benchmark
+    public void postAndFlush() throws InterruptedException {
+        for (final EntityEvent event : events) {
+            bus.post(event);
+        }
+
+        bus.flush();
+    }
+
+}
@@ -0,0 +1,55 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.rokitbus.generated.ProviderKeys;
+import bot.staro.rokit.rokitbus.GuardedListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts a tick worth of same-typed events to a provider-guarded listener, one by one and as a batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(PostAllBenchmark.EVENTS)
+public class PostAllBenchmark {
+    static final int EVENTS = 256;
+
+    private EventBus bus;
+    private TickEvent[] array;
+    private List<TickEvent> list;
+
+    @Setup
+    public void setup() {
+        final Player player = new Player("staro");
+        bus = RokitEventBus.builder().withProvider(ProviderKeys.PLAYER, () -> player).build();
+        bus.subscribe(new GuardedListener());
+        array = new TickEvent[EVENTS];
+        Arrays.setAll(array, i -> new TickEvent());
+        list = List.of(array);
+    }
+
+    @Benchmark
+    public void postEach() {
+        for (final TickEvent event : array) {
+            bus.post(event);
+        }
+    }
+
+    @Benchmark
+    public void postAllArray() {
+        bus.postAll(array);
+    }
+
+    @Benchmark
+    public void postAllList() {
+        bus.postAll(list);
+    }
+
+}
@@ -0,0 +1,47 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.rokitbus.ScalingListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts a single event type to a growing number of subscribers, and an event type nobody listens to.
+ * The dispatcher walks the invoker array once, so the cost should grow linearly with the subscriber count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PostBenchmark {
+    @Param({"0", "1", "10", "100", "1000"})
+    public int subscribers;
+
+    private EventBus eventBus;
+    private ScalingEvent event;
+    private Object unlistened;
+
+    @Setup
+    public void setup() {
+        eventBus = RokitEventBus.builder().build();
+        for (int i = 0; i < subscribers; i++) {
+            eventBus.subscribe(new ScalingListener());
+        }
+
+        event = new ScalingEvent();
+        unlistened = new Object();
+    }
+
+    @Benchmark
+    public void post() {
+        eventBus.post(event);
+    }
+
+    @Benchmark
+    public void postUnlistened() {
+        eventBus.post(unlistened);
+    }
+
+}
@@ -0,0 +1,51 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.rokitbus.generated.ProviderKeys;
+import bot.staro.rokit.rokitbus.GuardedListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts to a listener that is guarded by the "player" provider, with the guard passing, failing and cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ProviderGuardBenchmark {
+    private EventBus passing;
+    private EventBus failing;
+    private EventBus cached;
+    private TickEvent event;
+
+    @Setup
+    public void setup() {
+        final Player player = new Player("staro");
+        passing = RokitEventBus.builder().withProvider(ProviderKeys.PLAYER, () -> player).build();
+        failing = RokitEventBus.builder().withProvider(ProviderKeys.PLAYER, () -> null).build();
+        cached = RokitEventBus.builder().withProvider(ProviderKeys.PLAYER, () -> player, true).build();
+        passing.subscribe(new GuardedListener());
+        failing.subscribe(new GuardedListener());
+        cached.subscribe(new GuardedListener());
+        event = new TickEvent();
+    }
+
+    @Benchmark
+    public void guardPassing() {
+        passing.post(event);
+    }
+
+    @Benchmark
+    public void guardFailing() {
+        failing.post(event);
+    }
+
+    @Benchmark
+    public void guardCached() {
+        cached.post(event);
+    }
+
+}
@@ -0,0 +1,53 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.rokitbus.ScalingListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts a single event type to strongly and to weakly subscribed listeners.
+ * A weak invoker dereferences its subscriber before every call, the difference between the two is the cost of that check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class WeakPostBenchmark {
+    @Param({"1", "10", "100"})
+    public int subscribers;
+
+    @Param({"false", "true"})
+    public boolean weak;
+
+    private final List<ScalingListener> listeners = new ArrayList<>();
+    private EventBus eventBus;
+    private ScalingEvent event;
+
+    @Setup
+    public void setup() {
+        eventBus = RokitEventBus.builder().build();
+        for (int i = 0; i < subscribers; i++) {
+            // Kept reachable here, so weak subscriptions stay alive for the whole run.
+            final ScalingListener listener = new ScalingListener();
+            listeners.add(listener);
+            if (weak) {
+                eventBus.subscribeWeak(listener);
+            } else {
+                eventBus.subscribe(listener);
+            }
+        }
+
+        event = new ScalingEvent();
+    }
+
+    @Benchmark
+    public void post() {
+        eventBus.post(event);
+    }
+
+}
@@ -0,0 +1,4 @@
+package bot.staro.rokit;
+
+public record EntityEvent(int entityId, long position) {
+}
@@ -0,0 +1,4 @@
+package bot.staro.rokit;
+
+public final class ScalingEvent {
+}
@@ -0,0 +1,513 @@
+package bot.staro.rokit.events;
+
+/**
+ * Five hundred unrelated event types, so the lookup benchmark can post over a growing number of types.
+ */
+public final class LookupEvents {
+    public static final int COUNT = 500;
+
+    public static final class E000 { }
+    public static final class E001 { }
+    public static final class E002 { }
+    public static final class E003 { }
+    public static final class E004 { }
+    public static final class E005 { }
+    public static final class E006 { }
+    public static final class E007 { }
+    public static final class E008 { }
+    public static final class E009 { }
+    public static final class E010 { }
+    public static final class E011 { }
+    public static final class E012 { }
+    public static final class E013 { }
+    public static final class E014 { }
+    public static final class E015 { }
+    public static final class E016 { }
+    public static final class E017 { }
+    public static final class E018 { }
+    public static final class E019 { }
+    public static final class E020 { }
+    public static final class E021 { }
+    public static final class E022 { }
+    public static final class E023 { }
+    public static final class E024 { }
+    public static final class E025 { }
+    public static final class E026 { }
+    public static final class E027 { }
+    public static final class E028 { }
+    public static final class E029 { }
+    public static final class E030 { }
+    public static final class E031 { }
+    public static final class E032 { }
+    public static final class E033 { }
+    public static final class E034 { }
+    public static final class E035 { }
+    public static final class E036 { }
+    public static final class E037 { }
+    public static final class E038 { }
+    public static final class E039 { }
+    public static final class E040 { }
+    public static final class E041 { }
+    public static final class E042 { }
+    public static final class E043 { }
+    public static final class E044 { }
+    public static final class E045 { }
+    public static final class E046 { }
+    public static final class E047 { }
+    public static final class E048 { }
+    public static final class E049 { }
+    public static final class E050 { }
+    public static final class E051 { }
+    public static final class E052 { }
+    public static final class E053 { }
+    public static final class E054 { }
+    public static final class E055 { }
+    public static final class E056 { }
+    public static final class E057 { }
+    public static final class E058 { }
+    public static final class E059 { }
+    public static final class E060 { }
+    public static final class E061 { }
+    public static final class E062 { }
+    public static final class E063 { }
+    public static final class E064 { }
+    public static final class E065 { }
+    public static final class E066 { }
+    public static final class E067 { }
+    public static final class E068 { }
+    public static final class E069 { }
+    public static final class E070 { }
+    public static final class E071 { }
+    public static final class E072 { }
+    public static final class E073 { }
+    public static final class E074 { }
+    public static final class E075 { }
+    public static final class E076 { }
+    public static final class E077 { }
+    public static final class E078 { }
+    public static final class E079 { }
+    public static final class E080 { }
+    public static final class E081 { }
+    public static final class E082 { }
+    public static final class E083 { }
+    public static final class E084 { }
+    public static final class E085 { }
+    public static final class E086 { }
+    public static final class E087 { }
+    public static final class E088 { }
+    public static final class E089 { }
+    public static final class E090 { }
+    public static final class E091 { }
+    public static final class E092 { }
+    public static final class E093 { }
+    public static final class E094 { }
+    public static final class E095 { }
+    public static final class E096 { }
+    public static final class E097 { }
+    public static final class E098 { }
+    public static final class E099 { }
+    public static final class E100 { }
+    public static final class E101 { }
+    public static final class E102 { }
+    public static final class E103 { }
+    public static final class E104 { }
+    public static final class E105 { }
+    public static final class E106 { }
+    public static final class E107 { }
+    public static final class E108 { }
+    public static final class E109 { }
+    public static final class E110 { }
+    public static final class E111 { }
+    public static final class E112 { }
+    public static final class E113 { }
+    public static final class E114 { }
+    public static final class E115 { }
+    public static final class E116 { }
+    public static final class E117 { }
+    public static final class E118 { }
+    public static final class E119 { }
+    public static final class E120 { }
+    public static final class E121 { }
+    public static final class E122 { }
+    public static final class E123 { }
+    public static final class E124 { }
+    public static final class E125 { }
+    public static final class E126 { }
+    public static final class E127 { }
+    public static final class E128 { }
+    public static final class E129 { }
+    public static final class E130 { }
+    public static final class E131 { }
+    public static final class E132 { }
+    public static final class E133 { }
+    public static final class E134 { }
+    public static final class E135 { }
+    public static final class E136 { }
+    public static final class E137 { }
+    public static final class E138 { }
+    public static final class E139 { }
+    public static final class E140 { }
+    public static final class E141 { }
+    public static final class E142 { }
+    public static final class E143 { }
+    public static final class E144 { }
+    public static final class E145 { }
+    public static final class E146 { }
+    public static final class E147 { }
+    public static final class E148 { }
+    public static final class E149 { }
+    public static final class E150 { }
+    public static final class E151 { }
+    public static final class E152 { }
+    public static final class E153 { }
+    public static final class E154 { }
+    public static final class E155 { }
+    public static final class E156 { }
+    public static final class E157 { }
+    public static final class E158 { }
+    public static final class E159 { }
+    public static final class E160 { }
+    public static final class E161 { }
+    public static final class E162 { }
+    public static final class E163 { }
+    public static final class E164 { }
+    public static final class E165 { }
+    public static final class E166 { }
+    public static final class E167 { }
+    public static final class E168 { }
+    public static final class E169 { }
+    public static final class E170 { }
+    public static final class E171 { }
+    public static final class E172 { }
+    public static final class E173 { }
+    public static final class E174 { }
+    public static final class E175 { }
+    public static final class E176 { }
+    public static final class E177 { }
+    public static final class E178 { }
+    public static final class E179 { }
+    public static final class E180 { }
+    public static final class E181 { }
+    public static final class E182 { }
+    public static final class E183 { }
+    public static final class E184 { }
+    public static final class E185 { }
+    public static final class E186 { }
+    public static final class E187 { }
+    public static final class E188 { }
+    public static final class E189 { }
+    public static final class E190 { }
+    public static final class E191 { }
+    public static final class E192 { }
+    public static final class E193 { }
+    public static final class E194 { }
+    public static final class E195 { }
+    public static final class E196 { }
+    public static final class E197 { }
+    public static final class E198 { }
+    public static final class E199 { }
+    public static final class E200 { }
+    public static final class E201 { }
+    public static final class E202 { }
+    public static final class E203 { }
+    public static final class E204 { }
+    public static final class E205 { }
+    public static final class E206 { }
+    public static final class E207 { }
+    public static final class E208 { }
+    public static final class E209 { }
+    public static final class E210 { }
+    public static final class E211 { }
+    public static final class E212 { }
+    public static final class E213 { }
+    public static final class E214 { }
+    public static final class E215 { }
+    public static final class E216 { }
+    public static final class E217 { }
+    public static final class E218 { }
+    public static final class E219 { }
+    public static final class E220 { }
+    public static final class E221 { }
+    public static final class E222 { }
+    public static final class E223 { }
+    public static final class E224 { }
+    public static final class E225 { }
+    public static final class E226 { }
+    public static final class E227 { }
+    public static final class E228 { }
+    public static final class E229 { }
+    public static final class E230 { }
+    public static final class E231 { }
+    public static final class E232 { }
+    public static final class E233 { }
+    public static final class E234 { }
+    public static final class E235 { }
+    public static final class E236 { }
+    public static final class E237 { }
+    public static final class E238 { }
+    public static final class E239 { }
+    public static final class E240 { }
+    public static final class E241 { }
+    public static final class E242 { }
+    public static final class E243 { }
+    public static final class E244 { }
+    public static final class E245 { }
+    public static final class E246 { }
+    public static final class E247 { }
+    public static final class E248 { }
+    public static final class E249 { }
+    public static final class E250 { }
+    public static final class E251 { }
+    public static final class E252 { }
+    public static final class E253 { }
+    public static final class E254 { }
+    public static final class E255 { }
+    public static final class E256 { }
+    public static final class E257 { }
+    public static final class E258 { }
+    public static final class E259 { }
+    public static final class E260 { }
+    public static final class E261 { }
+    public static final class E262 { }
+    public static final class E263 { }
+    public static final class E264 { }
+    public static final class E265 { }
+    public static final class E266 { }
+    public static final class E267 { }
+    public static final class E268 { }
+    public static final class E269 { }
+    public static final class E270 { }
+    public static final class E271 { }
+    public static final class E272 { }
+    public static final class E273 { }
+    public static final class E274 { }
+    public static final class E275 { }
+    public static final class E276 { }
+    public static final class E277 { }
+    public static final class E278 { }
+    public static final class E279 { }
+    public static final class E280 { }
+    public static final class E281 { }
+    public static final class E282 { }
+    public static final class E283 { }
+    public static final class E284 { }
+    public static final class E285 { }
+    public static final class E286 { }
+    public static final class E287 { }
+    public static final class E288 { }
+    public static final class E289 { }
+    public static final class E290 { }
+    public static final class E291 { }
+    public static final class E292 { }
+    public static final class E293 { }
+    public static final class E294 { }
+    public static final class E295 { }
+    public static final class E296 { }
+    public static final class E297 { }
+    public static final class E298 { }
+    public static final class E299 { }
+    public static final class E300 { }
+    public static final class E301 { }
+    public static final class E302 { }
+    public static final class E303 { }
+    public static final class E304 { }
+    public static final class E305 { }
+    public static final class E306 { }
+    public static final class E307 { }
+    public static final class E308 { }
+    public static final class E309 { }
+    public static final class E310 { }
+    public static final class E311 { }
+    public static final class E312 { }
+    public static final class E313 { }
+    public static final class E314 { }
+    public static final class E315 { }
+    public static final class E316 { }
+    public static final class E317 { }
+    public static final class E318 { }
+    public static final class E319 { }
+    public static final class E320 { }
+    public static final class E321 { }
+    public static final class E322 { }
+    public static final class E323 { }
+    public static final class E324 { }
+    public static final class E325 { }
+    public static final class E326 { }
+    public static final class E327 { }
+    public static final class E328 { }
+    public static final class E329 { }
+    public static final class E330 { }
+    public static final class E331 { }
+    public static final class E332 { }
+    public static final class E333 { }
+    public static final class E334 { }
+    public static final class E335 { }
+    public static final class E336 { }
+    public static final class E337 { }
+    public static final class E338 { }
+    public static final class E339 { }
+    public static final class E340 { }
+    public static final class E341 { }
+    public static final class E342 { }
+    public static final class E343 { }
+    public static final class E344 { }
+    public static final class E345 { }
+    public static final class E346 { }
+    public static final class E347 { }
+    public static final class E348 { }
+    public static final class E349 { }
+    public static final class E350 { }
+    public static final class E351 { }
+    public static final class E352 { }
+    public static final class E353 { }
+    public static final class E354 { }
+    public static final class E355 { }
+    public static final class E356 { }
+    public static final class E357 { }
+    public static final class E358 { }
+    public static final class E359 { }
+    public static final class E360 { }
+    public static final class E361 { }
+    public static final class E362 { }
+    public static final class E363 { }
+    public static final class E364 { }
+    public static final class E365 { }
+    public static final class E366 { }
+    public static final class E367 { }
+    public static final class E368 { }
+    public static final class E369 { }
+    public static final class E370 { }
+    public static final class E371 { }
+    public static final class E372 { }
+    public static final class E373 { }
+    public static final class E374 { }
+    public static final class E375 { }
+    public static final class E376 { }
+    public static final class E377 { }
+    public static final class E378 { }
+    public static final class E379 { }
+    public static final class E380 { }
+    public static final class E381 { }
+    public static final class E382 { }
+    public static final class E383 { }
+    public static final class E384 { }
+    public static final class E385 { }
+    public static final class E386 { }
+    public static final class E387 { }
+    public static final class E388 { }
+    public static final class E389 { }
+    public static final class E390 { }
+    public static final class E391 { }
+    public static final class E392 { }
+    public static final class E393 { }
+    public static final class E394 { }
+    public static final class E395 { }
+    public static final class E396 { }
+    public static final class E397 { }
+    public static final class E398 { }
+    public static final class E399 { }
+    public static final class E400 { }
+    public static final class E401 { }
+    public static final class E402 { }
+    public static final class E403 { }
+    public static final class E404 { }
+    public static final class E405 { }
+    public static final class E406 { }
+    public static final class E407 { }
+    public static final class E408 { }
+    public static final class E409 { }
+    public static final class E410 { }
+    public static final class E411 { }
+    public static final class E412 { }
+    public static final class E413 { }
+    public static final class E414 { }
+    public static final class E415 { }
+    public static final class E416 { }
+    public static final class E417 { }
+    public static final class E418 { }
+    public static final class E419 { }
+    public static final class E420 { }
+    public static final class E421 { }
+    public static final class E422 { }
+    public static final class E423 { }
+    public static final class E424 { }
+    public static final class E425 { }
+    public static final class E426 { }
+    public static final class E427 { }
+    public static final class E428 { }
+    public static final class E429 { }
+    public static final class E430 { }
+    public static final class E431 { }
+    public static final class E432 { }
+    public static final class E433 { }
+    public static final class E434 { }
+    public static final class E435 { }
+    public static final class E436 { }
+    public static final class E437 { }
+    public static final class E438 { }
+    public static final class E439 { }
+    public static final class E440 { }
+    public static final class E441 { }
+    public static final class E442 { }
+    public static final class E443 { }
+    public static final class E444 { }
+    public static final class E445 { }
+    public static final class E446 { }
+    public static final class E447 { }
+    public static final class E448 { }
+    public static final class E449 { }
+    public static final class E450 { }
+    public static final class E451 { }
+    public static final class E452 { }
+    public static final class E453 { }
+    public static final class E454 { }
+    public static final class E455 { }
+    public static final class E456 { }
+    public static final class E457 { }
+    public static final class E458 { }
+    public static final class E459 { }
+    public static final class E460 { }
+    public static final class E461 { }
+    public static final class E462 { }
+    public static final class E463 { }
+    public static final class E464 { }
+    public static final class E465 { }
+    public static final class E466 { }
+    public static final class E467 { }
+    public static final class E468 { }
+    public static final class E469 { }
+    public static final class E470 { }
+    public static final class E471 { }
+    public static final class E472 { }
+    public static final class E473 { }
+    public static final class E474 { }
+    public static final class E475 { }
+    public static final class E476 { }
+    public static final class E477 { }
+    public static final class E478 { }
+    public static final class E479 { }
+    public static final class E480 { }
+    public static final class E481 { }
+    public static final class E482 { }
+    public static final class E483 { }
+    public static final class E484 { }
+    public static final class E485 { }
+    public static final class E486 { }
+    public static final class E487 { }
+    public static final class E488 { }
+    public static final class E489 { }
+    public static final class E490 { }
+    public static final class E491 { }
+    public static final class E492 { }
+    public static final class E493 { }
+    public static final class E494 { }
+    public static final class E495 { }
+    public static final class E496 { }
+    public static final class E497 { }
+    public static final class E498 { }
+    public static final class E499 { }
+
+    private LookupEvents() {
+    }
+
+}
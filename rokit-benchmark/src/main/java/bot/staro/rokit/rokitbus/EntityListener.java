@@ -0,0 +1,31 @@
+package bot.staro.rokit.rokitbus;
+
+import bot.staro.rokit.EntityEvent;
+import bot.staro.rokit.Listener;
+
+/**
+ * Keeps unsynchronized per-entity state and does some work per update, like a listener owned by one lane.
+ */
+public final class EntityListener {
+    private final long[] positions = new long[1024];
+
+    @Listener
+    public void onUpdate(EntityEvent event) {
+        long position = event.position();
+        for (int i = 0; i < 64; i++) {
+            position = position * 6364136223846793005L + 1442695040888963407L;
+        }
+
+        positions[event.entityId() & 1023] ^= position;
+    }
+
+    public long checksum() {
+        long sum = 0;
+        for (final long position : positions) {
+            sum += position;
+        }
+
+        return sum;
+    }
+
+}
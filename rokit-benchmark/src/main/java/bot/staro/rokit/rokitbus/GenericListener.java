@@ -0,0 +1,24 @@
+package bot.staro.rokit.rokitbus;
+
+import bot.staro.rokit.Listener;
+import bot.staro.rokit.WrappedEvent;
+
+public final class GenericListener {
+    private int strings;
+    private int integers;
+
+    @Listener
+    public void onString(WrappedEvent<String> event) {
+        strings++;
+    }
+
+    @Listener
+    public void onInteger(WrappedEvent<Integer> event) {
+        integers++;
+    }
+
+    public int getReceived() {
+        return strings + integers;
+    }
+
+}
@@ -0,0 +1,22 @@
+package bot.staro.rokit.rokitbus;
+
+import bot.staro.rokit.Listener;
+import bot.staro.rokit.Player;
+import bot.staro.rokit.TickEvent;
+
+/**
+ * Only receives ticks while the "player" provider returns a player.
+ */
+public final class GuardedListener {
+    private int received;
+
+    @Listener
+    public void onTick(TickEvent event, Player player) {
+        received++;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+}
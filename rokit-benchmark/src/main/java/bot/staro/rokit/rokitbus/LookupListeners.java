@@ -0,0 +1,2563 @@
+package bot.staro.rokit.rokitbus;
+
+import bot.staro.rokit.Listener;
+import bot.staro.rokit.events.LookupEvents;
+
+import java.util.function.Consumer;
+
+/**
+ * Listens to every {@link LookupEvents} type and hands the events to a sink.
+ * Split into parts of a hundred listeners, so no generated registration gets too large to compile.
+ */
+public final class LookupListeners {
+    public static final class Part0 {
+        private final Consumer<Object> sink;
+
+        public Part0(final Consumer<Object> sink) {
+            this.sink = sink;
+        }
+
+        @Listener
+        public void on(final LookupEvents.E000 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E001 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E002 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E003 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E004 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E005 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E006 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E007 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E008 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E009 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E010 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E011 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E012 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E013 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E014 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E015 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E016 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E017 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E018 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E019 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E020 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E021 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E022 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E023 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E024 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E025 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E026 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E027 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E028 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E029 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E030 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E031 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E032 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E033 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E034 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E035 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E036 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E037 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E038 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E039 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E040 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E041 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E042 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E043 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E044 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E045 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E046 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E047 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E048 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E049 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E050 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E051 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E052 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E053 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E054 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E055 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E056 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E057 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E058 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E059 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E060 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E061 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E062 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E063 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E064 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E065 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E066 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E067 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E068 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E069 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E070 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E071 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E072 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E073 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E074 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E075 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E076 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E077 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E078 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E079 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E080 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E081 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E082 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E083 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E084 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E085 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E086 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E087 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E088 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E089 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E090 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E091 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E092 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E093 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E094 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E095 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E096 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E097 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E098 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E099 event) {
+            sink.accept(event);
+        }
+    }
+
+    public static final class Part1 {
+        private final Consumer<Object> sink;
+
+        public Part1(final Consumer<Object> sink) {
+            this.sink = sink;
+        }
+
+        @Listener
+        public void on(final LookupEvents.E100 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E101 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E102 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E103 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E104 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E105 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E106 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E107 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E108 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E109 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E110 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E111 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E112 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E113 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E114 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E115 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E116 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E117 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E118 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E119 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E120 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E121 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E122 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E123 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E124 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E125 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E126 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E127 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E128 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E129 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E130 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E131 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E132 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E133 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E134 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E135 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E136 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E137 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E138 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E139 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E140 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E141 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E142 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E143 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E144 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E145 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E146 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E147 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E148 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E149 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E150 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E151 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E152 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E153 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E154 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E155 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E156 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E157 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E158 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E159 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E160 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E161 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E162 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E163 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E164 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E165 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E166 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E167 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E168 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E169 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E170 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E171 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E172 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E173 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E174 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E175 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E176 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E177 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E178 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E179 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E180 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E181 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E182 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E183 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E184 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E185 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E186 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E187 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E188 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E189 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E190 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E191 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E192 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E193 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E194 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E195 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E196 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E197 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E198 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E199 event) {
+            sink.accept(event);
+        }
+    }
+
+    public static final class Part2 {
+        private final Consumer<Object> sink;
+
+        public Part2(final Consumer<Object> sink) {
+            this.sink = sink;
+        }
+
+        @Listener
+        public void on(final LookupEvents.E200 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E201 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E202 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E203 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E204 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E205 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E206 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E207 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E208 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E209 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E210 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E211 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E212 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E213 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E214 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E215 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E216 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E217 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E218 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E219 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E220 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E221 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E222 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E223 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E224 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E225 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E226 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E227 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E228 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E229 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E230 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E231 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E232 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E233 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E234 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E235 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E236 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E237 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E238 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E239 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E240 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E241 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E242 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E243 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E244 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E245 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E246 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E247 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E248 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E249 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E250 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E251 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E252 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E253 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E254 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E255 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E256 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E257 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E258 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E259 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E260 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E261 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E262 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E263 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E264 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E265 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E266 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E267 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E268 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E269 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E270 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E271 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E272 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E273 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E274 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E275 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E276 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E277 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E278 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E279 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E280 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E281 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E282 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E283 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E284 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E285 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E286 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E287 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E288 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E289 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E290 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E291 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E292 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E293 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E294 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E295 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E296 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E297 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E298 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E299 event) {
+            sink.accept(event);
+        }
+    }
+
+    public static final class Part3 {
+        private final Consumer<Object> sink;
+
+        public Part3(final Consumer<Object> sink) {
+            this.sink = sink;
+        }
+
+        @Listener
+        public void on(final LookupEvents.E300 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E301 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E302 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E303 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E304 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E305 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E306 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E307 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E308 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E309 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E310 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E311 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E312 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E313 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E314 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E315 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E316 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E317 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E318 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E319 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E320 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E321 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E322 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E323 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E324 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E325 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E326 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E327 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E328 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E329 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E330 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E331 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E332 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E333 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E334 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E335 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E336 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E337 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E338 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E339 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E340 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E341 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E342 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E343 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E344 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E345 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E346 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E347 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E348 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E349 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E350 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E351 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E352 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E353 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E354 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E355 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E356 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E357 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E358 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E359 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E360 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E361 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E362 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E363 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E364 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E365 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E366 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E367 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E368 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E369 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E370 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E371 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E372 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E373 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E374 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E375 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E376 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E377 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E378 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E379 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E380 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E381 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E382 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E383 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E384 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E385 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E386 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E387 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E388 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E389 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E390 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E391 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E392 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E393 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E394 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E395 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E396 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E397 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E398 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E399 event) {
+            sink.accept(event);
+        }
+    }
+
+    public static final class Part4 {
+        private final Consumer<Object> sink;
+
+        public Part4(final Consumer<Object> sink) {
+            this.sink = sink;
+        }
+
+        @Listener
+        public void on(final LookupEvents.E400 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E401 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E402 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E403 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E404 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E405 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E406 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E407 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E408 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E409 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E410 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E411 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E412 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E413 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E414 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E415 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E416 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E417 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E418 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E419 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E420 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E421 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E422 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E423 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E424 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E425 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E426 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E427 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E428 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E429 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E430 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E431 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E432 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E433 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E434 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E435 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E436 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E437 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E438 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E439 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E440 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E441 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E442 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E443 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E444 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E445 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E446 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E447 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E448 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E449 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E450 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E451 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E452 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E453 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E454 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E455 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E456 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E457 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E458 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E459 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E460 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E461 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E462 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E463 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E464 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E465 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E466 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E467 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E468 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E469 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E470 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E471 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E472 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E473 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E474 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E475 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E476 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E477 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E478 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E479 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E480 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E481 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E482 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E483 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E484 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E485 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E486 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E487 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E488 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E489 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E490 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E491 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E492 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E493 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E494 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E495 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E496 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E497 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E498 event) {
+            sink.accept(event);
+        }
+
+        @Listener
+        public void on(final LookupEvents.E499 event) {
+            sink.accept(event);
+        }
+    }
+
+    private LookupListeners() {
+    }
+
+    /**
+     * @return one listener of every part.
+     */
+    public static Object[] all(final Consumer<Object> sink) {
+        return new Object[] { new Part0(sink), new Part1(sink), new Part2(sink), new Part3(sink), new Part4(sink) };
+    }
+
+}
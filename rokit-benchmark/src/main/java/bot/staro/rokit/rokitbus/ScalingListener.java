@@ -0,0 +1,18 @@
+package bot.staro.rokit.rokitbus;
+
+import bot.staro.rokit.Listener;
+import bot.staro.rokit.ScalingEvent;
+
+public final class ScalingListener {
+    private int received;
+
+    @Listener
+    public void onEvent(ScalingEvent event) {
+        received++;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+}
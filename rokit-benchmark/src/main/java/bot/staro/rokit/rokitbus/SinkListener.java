@@ -0,0 +1,105 @@
+package bot.staro.rokit.rokitbus;
+
+import bot.staro.rokit.Event;
+import bot.staro.rokit.Listener;
+import bot.staro.rokit.WrappedEvent;
+import bot.staro.rokit.events.*;
+
+import java.util.function.Consumer;
+
+/**
+ * Hands every event it receives to a sink, e.g. a JMH blackhole, so benchmarks measure dispatch instead of listener work.
+ */
+public final class SinkListener {
+    private final Consumer<Object> sink;
+
+    public SinkListener(final Consumer<Object> sink) {
+        this.sink = sink;
+    }
+
+    @Listener
+    public void onEvent(Event event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onString(WrappedEvent<String> event) {
+        sink.accept(event.getObject());
+    }
+
+    @Listener
+    public void onInteger(WrappedEvent<Integer> event) {
+        sink.accept(event.getObject());
+    }
+
+    @Listener
+    public void onEvent(AEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(BEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(CEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(DEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(EEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(FEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(GEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(HEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(IEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(Jevent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(KEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(LEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(MEvent event) {
+        sink.accept(event);
+    }
+
+    @Listener
+    public void onEvent(NEvent event) {
+        sink.accept(event);
+    }
+
+}
@@ -1,23 +1,105 @@
 package bot.staro.rokit;
 
+import bot.staro.rokit.gen.Registry;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 public final class Builder {
-    private final List<Object> providers = new ArrayList<>();
+    // Starts a virtual thread per task and owns no resources, so every bus and lane shares it and nothing has to be closed.
+    private static final Executor VIRTUAL_THREADS = Thread::startVirtualThread;
+
+    private final Map<Integer, Object> providers = new HashMap<>();
+    private final Map<String, Executor> executors = new HashMap<>();
+    private final List<Registry> registries = new ArrayList<>(Registries.loaded());
+    private int queueCapacity = 1024;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
 
     public <T> Builder withProvider(final int providerId, final Supplier<T> supplier) {
-        while (providers.size() < providerId + 1) {
-            providers.add(null);
+        return withProvider(providerId, supplier, false);
+    }
+
+    /**
+     * Registers a provider for the given key, a constant of a generated {@code ProviderKeys} class.
+     * @param cached if true, the supplied value is reused by every post until {@link EventBus#invalidateProviders()} is called.
+     */
+    public <T> Builder withProvider(final int providerId, final Supplier<T> supplier, final boolean cached) {
+        providers.put(providerId, cached ? new CachedProvider<>(supplier) : supplier);
+        return this;
+    }
+
+    /**
+     * Sets the executor that runs asynchronous listeners without an explicit executor name.
+     * Defaults to a virtual thread per task.
+     */
+    public Builder withExecutor(final Executor executor) {
+        return withExecutor("", executor);
+    }
+
+    /**
+     * Registers an executor that asynchronous listeners can select by name.
+     */
+    public Builder withExecutor(final String name, final Executor executor) {
+        executors.put(name, executor);
+        return this;
+    }
+
+    /**
+     * Adds a generated registry that is not listed in {@code META-INF/services}, e.g. when service files are stripped by shading.
+     */
+    public Builder withRegistry(final Registry registry) {
+        for (final Registry existing : registries) {
+            if (existing.getClass() == registry.getClass()) {
+                return this;
+            }
         }
 
-        providers.set(providerId, supplier);
+        registries.add(registry);
+        return this;
+    }
+
+    /**
+     * Configures the queue of {@link EventBus#enqueue(Object)}. Defaults to 1024 events that {@link OverflowPolicy#BLOCK block} when full.
+     * @param capacity is rounded up to a power of two.
+     */
+    public Builder withQueue(final int capacity, final OverflowPolicy policy) {
+        this.queueCapacity = capacity;
+        this.overflowPolicy = Objects.requireNonNull(policy, "policy");
         return this;
     }
 
     public EventBus build() {
-        return new RokitEventBus(providers.toArray());
+        return newBus();
+    }
+
+    /**
+     * Builds a bus that dispatches on the given number of lane threads. Every lane is a bus of its own with this configuration,
+     * its queue set by {@link #withQueue(int, OverflowPolicy)} is the inbox of the lane.
+     * @param key maps an event to its key, events with equal keys are dispatched by the same lane in the order they were posted.
+     */
+    public PartitionedEventBus buildPartitioned(final int lanes, final ToIntFunction<Object> key) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("A partitioned bus needs at least one lane, got " + lanes);
+        }
+
+        final RokitEventBus[] buses = new RokitEventBus[lanes];
+        for (int i = 0; i < lanes; i++) {
+            buses[i] = newBus();
+        }
+
+        return new PartitionedEventBus(buses, Objects.requireNonNull(key, "key"));
+    }
+
+    private RokitEventBus newBus() {
+        final Map<String, Executor> configured = new HashMap<>(executors);
+        configured.putIfAbsent("", VIRTUAL_THREADS);
+        return new RokitEventBus(new HashMap<>(providers), configured, registries.toArray(new Registry[0]), new EventQueue(queueCapacity, overflowPolicy));
     }
 
 }
@@ -0,0 +1,29 @@
+package bot.staro.rokit;
+
+import java.util.function.Supplier;
+
+/**
+ * A provider whose value is reused until the owning bus moves to the next provider epoch.
+ */
+final class CachedProvider<T> {
+    private final Supplier<T> supplier;
+    private volatile Entry<T> entry;
+
+    CachedProvider(final Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    T get(final long epoch) {
+        final Entry<T> current = entry;
+        if (current != null && current.epoch == epoch) {
+            return current.value;
+        }
+
+        final T value = supplier.get();
+        entry = new Entry<>(epoch, value);
+        return value;
+    }
+
+    private record Entry<T>(long epoch, T value) {}
+
+}
@@ -0,0 +1,244 @@
+package bot.staro.rokit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatch counters and latency histograms of one bus.
+ * Only dispatchers generated with {@code -Arokit.metrics=true} record anything, otherwise every snapshot is empty.
+ * Listeners are keyed by the stable id of their method, events by a hash of their type name.
+ */
+public final class DispatchMetrics {
+    /**
+     * Histograms have one bucket per power of two, bucket i counts latencies in [2^(i-1), 2^i) nanoseconds.
+     */
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    private final Table events = new Table();
+    private final Table listeners = new Table();
+
+    DispatchMetrics() {
+    }
+
+    /**
+     * Records one post of an event type. Used by generated code.
+     */
+    public void recordPost(final long eventKey, final String eventType) {
+        events.slot(eventKey, eventType).count.increment();
+    }
+
+    /**
+     * Records the time a post of an event type spent resolving providers and extractors. Used by generated code.
+     */
+    public void recordProviders(final long eventKey, final String eventType, final long nanos) {
+        final Slot slot = events.slot(eventKey, eventType);
+        slot.nanos.add(nanos);
+        slot.record(nanos);
+    }
+
+    /**
+     * Records one listener invocation. Asynchronous listeners record the time it took to hand them to their executor.
+     * Used by generated code.
+     */
+    public void recordInvocation(final long listenerId, final long nanos) {
+        final Slot slot = listeners.slot(listenerId, null);
+        slot.count.increment();
+        slot.nanos.add(nanos);
+        slot.record(nanos);
+        final ListenerInvocationEvent event = new ListenerInvocationEvent();
+        if (event.isEnabled()) {
+            event.listener = slot.name;
+            event.latency = nanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Names a listener id for snapshots. Used by generated code.
+     */
+    public void nameListener(final long listenerId, final String listener) {
+        final Slot slot = listeners.slot(listenerId, listener);
+        if (slot.name == null) {
+            slot.name = listener;
+        }
+    }
+
+    public Snapshot snapshot() {
+        final List<EventStats> eventStats = new ArrayList<>();
+        for (final Slot slot : events.slots()) {
+            eventStats.add(new EventStats(slot.key, slot.name, slot.count.sum(), slot.nanos.sum(), slot.histogram()));
+        }
+
+        final List<ListenerStats> listenerStats = new ArrayList<>();
+        for (final Slot slot : listeners.slots()) {
+            listenerStats.add(new ListenerStats(slot.key, slot.name, slot.count.sum(), slot.nanos.sum(), slot.histogram()));
+        }
+
+        return new Snapshot(List.copyOf(eventStats), List.copyOf(listenerStats));
+    }
+
+    /**
+     * Clears every counter and histogram.
+     */
+    public void reset() {
+        events.clear();
+        listeners.clear();
+    }
+
+    public record Snapshot(List<EventStats> events, List<ListenerStats> listeners) {}
+
+    /**
+     * @param posts number of posts of the event type.
+     * @param providerNanos total time spent resolving providers and extractors.
+     * @param providerHistogram log2 histogram of the provider resolution time per post.
+     */
+    public record EventStats(long key, String eventType, long posts, long providerNanos, long[] providerHistogram) {}
+
+    /**
+     * @param listener the listener method, as owner#method(event), or null if it was never subscribed to this bus.
+     * @param histogram log2 histogram of the invocation latency.
+     */
+    public record ListenerStats(long id, String listener, long invocations, long totalNanos, long[] histogram) {
+        /**
+         * @return the upper bound in nanoseconds of the histogram bucket holding the given percentile, between 0 and 100.
+         */
+        public long percentile(final double percentile) {
+            return DispatchMetrics.percentile(histogram, invocations, percentile);
+        }
+    }
+
+    static long percentile(final long[] histogram, final long total, final double percentile) {
+        final long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+
+        return 0;
+    }
+
+    private static final class Slot {
+        final long key;
+        volatile String name;
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final AtomicLongArray buckets = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+        Slot(final long key, final String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        void record(final long nanos) {
+            buckets.incrementAndGet(nanos <= 0 ? 0 : Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+        }
+
+        long[] histogram() {
+            final long[] out = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = buckets.get(i);
+            }
+
+            return out;
+        }
+    }
+
+    /**
+     * Open-addressing table with linear probing. Lookups never lock, inserts and resizes do.
+     */
+    private static final class Table {
+        private volatile AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(64);
+        private int size;
+
+        Slot slot(final long key, final String name) {
+            final AtomicReferenceArray<Slot> current = slots;
+            final int mask = current.length() - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                final Slot slot = current.get(i);
+                if (slot == null) {
+                    return insert(key, name);
+                }
+
+                if (slot.key == key) {
+                    return slot;
+                }
+            }
+        }
+
+        synchronized void clear() {
+            slots = new AtomicReferenceArray<>(64);
+            size = 0;
+        }
+
+        List<Slot> slots() {
+            final AtomicReferenceArray<Slot> current = slots;
+            final List<Slot> out = new ArrayList<>();
+            for (int i = 0; i < current.length(); i++) {
+                final Slot slot = current.get(i);
+                if (slot != null) {
+                    out.add(slot);
+                }
+            }
+
+            return out;
+        }
+
+        private synchronized Slot insert(final long key, final String name) {
+            AtomicReferenceArray<Slot> current = slots;
+            final Slot existing = find(current, key);
+            if (existing != null) {
+                return existing;
+            }
+
+            if ((size + 1) * 2 > current.length()) {
+                final AtomicReferenceArray<Slot> grown = new AtomicReferenceArray<>(current.length() * 2);
+                for (int i = 0; i < current.length(); i++) {
+                    final Slot slot = current.get(i);
+                    if (slot != null) {
+                        put(grown, slot);
+                    }
+                }
+
+                current = grown;
+                slots = grown;
+            }
+
+            final Slot slot = new Slot(key, name);
+            put(current, slot);
+            size++;
+            return slot;
+        }
+
+        private static Slot find(final AtomicReferenceArray<Slot> table, final long key) {
+            final int mask = table.length() - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                final Slot slot = table.get(i);
+                if (slot == null || slot.key == key) {
+                    return slot;
+                }
+            }
+        }
+
+        private static void put(final AtomicReferenceArray<Slot> table, final Slot slot) {
+            final int mask = table.length() - 1;
+            int i = mix(slot.key) & mask;
+            while (table.get(i) != null) {
+                i = (i + 1) & mask;
+            }
+
+            table.set(i, slot);
+        }
+
+        private static int mix(final long key) {
+            final long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+}
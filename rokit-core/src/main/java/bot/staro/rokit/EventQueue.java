@@ -0,0 +1,137 @@
+package bot.staro.rokit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded ring buffer of deferred events. Every slot carries a sequence number, so producers claim a slot with one CAS
+ * and publish it with one volatile write, and no node is allocated per event.
+ * The consumer side also claims slots with a CAS, which lets {@link OverflowPolicy#DROP_OLDEST} producers take the oldest event.
+ */
+final class EventQueue {
+    private static final int SPINS = 64;
+    private static final long PARK_NANOS = 10_000L;
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final OverflowPolicy policy;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    EventQueue(final int capacity, final OverflowPolicy policy) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Queue capacity must be between 1 and 2^30, got " + capacity);
+        }
+
+        final int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+
+        this.mask = size - 1;
+        this.policy = policy;
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * @return the number of slots claimed by producers so far.
+     */
+    long enqueued() {
+        return tail.get();
+    }
+
+    /**
+     * @return the number of events taken out of the queue so far, including the ones dropped by {@link OverflowPolicy#DROP_OLDEST}.
+     */
+    long dequeued() {
+        return head.get();
+    }
+
+    boolean isEmpty() {
+        final long pos = head.get();
+        return sequences.get((int) pos & mask) - (pos + 1) < 0;
+    }
+
+    /**
+     * @return false if the event was rejected, or the producer was interrupted while waiting for room.
+     */
+    boolean enqueue(final Object event) {
+        int spins = 0;
+        while (!offer(event)) {
+            switch (policy) {
+                case REJECT -> {
+                    return false;
+                }
+                case DROP_OLDEST -> poll();
+                case BLOCK -> {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return false;
+                    }
+
+                    if (spins < SPINS) {
+                        spins++;
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    boolean offer(final Object event) {
+        long pos = tail.get();
+        while (true) {
+            final int index = (int) pos & mask;
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = event;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return the oldest event, or null if the queue is empty.
+     */
+    Object poll() {
+        long pos = head.get();
+        while (true) {
+            final int index = (int) pos & mask;
+            final long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    final Object event = buffer[index];
+                    buffer[index] = null;
+                    sequences.set(index, pos + mask + 1);
+                    return event;
+                }
+
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package bot.staro.rokit;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event committed for every listener invocation recorded by {@link DispatchMetrics}.
+ * Disabled by default, enable {@code bot.staro.rokit.ListenerInvocation} in the recording settings.
+ */
+@Name("bot.staro.rokit.ListenerInvocation")
+@Label("Listener Invocation")
+@Category("Rokit")
+@Description("A listener invocation measured by an instrumented dispatcher")
+@Enabled(false)
+@StackTrace(false)
+final class ListenerInvocationEvent extends Event {
+    @Label("Listener")
+    String listener;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+
+}
@@ -0,0 +1,20 @@
+package bot.staro.rokit;
+
+/**
+ * What {@link EventBus#enqueue(Object)} does when the deferred event queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Waits until the owner thread drains the queue. The owner thread itself must not enqueue into a full queue.
+     */
+    BLOCK,
+    /**
+     * Discards the oldest queued event to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Discards the new event.
+     */
+    REJECT
+
+}
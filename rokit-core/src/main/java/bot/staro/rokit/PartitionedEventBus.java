@@ -0,0 +1,260 @@
+package bot.staro.rokit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Dispatches events on a fixed number of lane threads. Every event is routed by its key to one lane,
+ * so events with equal keys are dispatched in the order they were posted, and events with different keys run in parallel.
+ * Every lane is a {@link RokitEventBus} of its own that drains its queue on its own thread.
+ * Listeners subscribed with {@link #subscribePerLane(IntFunction)} get an instance per lane and never run concurrently.
+ * Built with {@link Builder#buildPartitioned(int, ToIntFunction)}.
+ */
+public final class PartitionedEventBus implements AutoCloseable {
+    private static final int SPINS = 128;
+    private static final long PARK_NANOS = 10_000L;
+
+    private final Lane[] lanes;
+    private final ToIntFunction<Object> key;
+
+    PartitionedEventBus(final RokitEventBus[] buses, final ToIntFunction<Object> key) {
+        this.key = key;
+        this.lanes = new Lane[buses.length];
+        for (int i = 0; i < buses.length; i++) {
+            lanes[i] = new Lane(buses[i], i);
+        }
+
+        for (final Lane lane : lanes) {
+            lane.thread.start();
+        }
+    }
+
+    /**
+     * Queues an event on the lane of its key. Can be called from any thread.
+     * @return true if the event was queued, false if the lane queue was full and its overflow policy rejected the event.
+     */
+    public <E> boolean post(final E event) {
+        if (event == null) {
+            return false;
+        }
+
+        final Lane lane = lanes[lane(key.applyAsInt(event))];
+        if (!lane.running) {
+            throw new IllegalStateException("The bus is closed");
+        }
+
+        if (!lane.bus.enqueue(event)) {
+            return false;
+        }
+
+        if (lane.sleeping) {
+            LockSupport.unpark(lane.thread);
+        }
+
+        return true;
+    }
+
+    /**
+     * Subscribes the same object on every lane, it is called from every lane thread and has to be thread-safe.
+     */
+    public void subscribe(final Object subscriber) {
+        for (final Lane lane : lanes) {
+            lane.bus.subscribe(subscriber);
+        }
+    }
+
+    /**
+     * Subscribes the same object on every lane without keeping it reachable, see {@link EventBus#subscribeWeak(Object)}.
+     */
+    public void subscribeWeak(final Object subscriber) {
+        for (final Lane lane : lanes) {
+            lane.bus.subscribeWeak(subscriber);
+        }
+    }
+
+    /**
+     * Subscribes one object per lane, each object is only called from the thread of its lane.
+     * @param factory creates the subscriber of the given lane index.
+     * @return the created subscribers, indexed by lane.
+     */
+    public <T> List<T> subscribePerLane(final IntFunction<T> factory) {
+        final List<T> subscribers = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            final T subscriber = Objects.requireNonNull(factory.apply(i), "subscriber");
+            lanes[i].bus.subscribe(subscriber);
+            subscribers.add(subscriber);
+        }
+
+        return subscribers;
+    }
+
+    public void unsubscribe(final Object subscriber) {
+        for (final Lane lane : lanes) {
+            lane.bus.unsubscribe(subscriber);
+        }
+    }
+
+    public void unsubscribeAll(final Collection<?> subscribers) {
+        for (final Lane lane : lanes) {
+            lane.bus.unsubscribeAll(subscribers);
+        }
+    }
+
+    /**
+     * Switches a subscriber on or off on every lane, see {@link EventBus#setEnabled(Object, boolean)}.
+     * @return false if the subscriber is not subscribed on any lane.
+     */
+    public boolean setEnabled(final Object subscriber, final boolean enabled) {
+        boolean found = false;
+        for (final Lane lane : lanes) {
+            found |= lane.bus.setEnabled(subscriber, enabled);
+        }
+
+        return found;
+    }
+
+    public void setTagEnabled(final String tag, final boolean enabled) {
+        for (final Lane lane : lanes) {
+            lane.bus.setTagEnabled(tag, enabled);
+        }
+    }
+
+    /**
+     * Waits until every lane has dispatched the events that were queued before this call, e.g. at the end of a tick.
+     * Must not be called from a lane thread.
+     */
+    public void flush() throws InterruptedException {
+        for (final Lane lane : lanes) {
+            if (lane.thread == Thread.currentThread()) {
+                throw new IllegalStateException("A lane cannot wait for itself");
+            }
+        }
+
+        final long[] targets = new long[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            targets[i] = lanes[i].bus.queue().enqueued();
+        }
+
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i].await(targets[i]);
+        }
+    }
+
+    public int lanes() {
+        return lanes.length;
+    }
+
+    /**
+     * @return the lane index that events with the given key are dispatched by.
+     */
+    public int lane(final int key) {
+        // Spread the key, so keys that only differ in their high bits do not share a lane.
+        final int h = key * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+    /**
+     * Dispatches the queued events and stops the lane threads. Events posted while the bus closes may be dropped.
+     */
+    @Override
+    public void close() {
+        for (final Lane lane : lanes) {
+            lane.running = false;
+            LockSupport.unpark(lane.thread);
+        }
+
+        boolean interrupted = false;
+        for (final Lane lane : lanes) {
+            while (lane.thread.isAlive() && lane.thread != Thread.currentThread()) {
+                try {
+                    lane.thread.join();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Lane implements Runnable {
+        private final RokitEventBus bus;
+        private final EventQueue queue;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean sleeping;
+        private volatile long completed;
+
+        Lane(final RokitEventBus bus, final int index) {
+            this.bus = bus;
+            this.queue = bus.queue();
+            this.thread = Thread.ofPlatform().name("rokit-lane-" + index).daemon(true).unstarted(this);
+        }
+
+        @Override
+        public void run() {
+            final int max = queue.capacity();
+            int spins = 0;
+            while (true) {
+                try {
+                    if (bus.drain(max) > 0) {
+                        spins = 0;
+                        continue;
+                    }
+                } catch (final RuntimeException e) {
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                    continue;
+                } finally {
+                    completed = queue.dequeued() - bus.backlog();
+                }
+
+                if (!running) {
+                    return;
+                }
+
+                if (spins < SPINS) {
+                    spins++;
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                // A producer that enqueues after this check sees the flag and unparks the lane.
+                sleeping = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+
+                sleeping = false;
+            }
+        }
+
+        void await(final long target) throws InterruptedException {
+            int spins = 0;
+            while (completed < target) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                if (!thread.isAlive()) {
+                    throw new IllegalStateException("The bus is closed");
+                }
+
+                if (spins < SPINS) {
+                    spins++;
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.gen.Registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * The generated registries found on the class path, loaded once.
+ */
+final class Registries {
+    private static final List<Registry> LOADED = load();
+
+    private Registries() {
+    }
+
+    static List<Registry> loaded() {
+        return LOADED;
+    }
+
+    private static List<Registry> load() {
+        final List<Registry> registries = new ArrayList<>();
+        for (final Registry registry : ServiceLoader.load(Registry.class, Registries.class.getClassLoader())) {
+            registries.add(registry);
+        }
+
+        return List.copyOf(registries);
+    }
+
+}
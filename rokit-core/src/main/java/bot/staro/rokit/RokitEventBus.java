@@ -1,60 +1,440 @@
 package bot.staro.rokit;
 
+import bot.staro.rokit.gen.BatchFailure;
+import bot.staro.rokit.gen.BucketBatch;
 import bot.staro.rokit.gen.BusState;
-import bot.staro.rokit.generated.GeneratedBootstrap;
+import bot.staro.rokit.gen.Registration;
+import bot.staro.rokit.gen.Registry;
+import bot.staro.rokit.gen.SpecializedSite;
+import bot.staro.rokit.gen.Toggle;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public final class RokitEventBus implements EventBus {
-    private final Object[] providers;
-    private final BusState state;
+    private static final int MAX_DIRECT_ID = 1 << 16;
+    private static final int ID_UNKNOWN = -1;
+    private static final int ID_SHARED = -2;
 
-    RokitEventBus(final Object[] providers) {
+    private final Map<Integer, Object> providers;
+    private final Registry[] registries;
+    private final BusState[] states;
+    private final int[] idOwners;
+    private final Map<Integer, Class<?>[]> idTypes;
+    private final ClassValue<Route> routes = new ClassValue<>() {
+        @Override
+        protected Route computeValue(final Class<?> type) {
+            return route(type);
+        }
+    };
+    // Listener methods overridden by a listener class of another registry, an addon subclass of a core listener for one.
+    private final ClassValue<long[]> overridden = new ClassValue<>() {
+        @Override
+        protected long[] computeValue(final Class<?> type) {
+            long[] ids = new long[0];
+            for (final Registry registry : registries) {
+                final long[] more = registry.overriddenListeners(type);
+                ids = Arrays.copyOf(ids, ids.length + more.length);
+                System.arraycopy(more, 0, ids, ids.length - more.length, more.length);
+            }
+
+            return ids;
+        }
+    };
+    private final AtomicLong providerEpoch = new AtomicLong();
+    private final ConcurrentHashMap<String, Toggle> tags = new ConcurrentHashMap<>();
+    private final Map<String, Executor> executors;
+    private final ThreadLocal<List<CompletableFuture<?>>> pendingAsync = new ThreadLocal<>();
+    private final DispatchMetrics metrics = new DispatchMetrics();
+    private final EventQueue queue;
+    private final Object[] drainRun;
+    private final ArrayDeque<Object> backlog = new ArrayDeque<>();
+    private boolean draining;
+
+    RokitEventBus(final Map<Integer, Object> providers, final Map<String, Executor> executors, final Registry[] registries, final EventQueue queue) {
         this.providers = Objects.requireNonNull(providers, "providers");
-        this.state = GeneratedBootstrap.newState();
+        this.executors = Objects.requireNonNull(executors, "executors");
+        this.registries = Objects.requireNonNull(registries, "registries");
+        this.states = new BusState[registries.length];
+        final Map<Integer, String> providerNames = new HashMap<>();
+        for (int i = 0; i < registries.length; i++) {
+            states[i] = registries[i].newState(providerTable(registries[i], providers, providerNames));
+        }
+
+        this.idOwners = idOwners(registries);
+        this.idTypes = idTypes(registries);
+        this.queue = Objects.requireNonNull(queue, "queue");
+        this.drainRun = new Object[queue.capacity()];
     }
 
     @Override
     public <E> void post(final E event) {
         if (event != null) {
-            GeneratedBootstrap.dispatch(this, state, event);
+            dispatch(event);
         }
     }
 
     @Override
     public <E> void post(final E event, final int id) {
-        if (event != null) {
-            GeneratedBootstrap.dispatchById(this, state, event, id);
+        if (event == null) {
+            return;
+        }
+
+        final int owner = id >= 0 && id < idOwners.length ? idOwners[id] : ID_UNKNOWN;
+        if (owner < 0 || !registries[owner].dispatchById(this, states[owner], event, id)) {
+            dispatch(event);
+        }
+    }
+
+    @Override
+    public <E> void postAll(final E[] events) {
+        if (events == null) {
+            return;
+        }
+
+        int from = 0;
+        while (from < events.length) {
+            final Object first = events[from];
+            if (first == null) {
+                from++;
+                continue;
+            }
+
+            final Class<?> type = first.getClass();
+            int to = from + 1;
+            while (to < events.length && events[to] != null && events[to].getClass() == type) {
+                to++;
+            }
+
+            try {
+                dispatchRun(type, events, from, to);
+            } catch (final BatchFailure failure) {
+                throw SpecializedSite.rethrow(failure.getCause());
+            }
+
+            from = to;
         }
     }
 
     @Override
-    public void subscribe(final Object subscriber) {
+    public <E> void postAll(final List<E> events) {
+        if (events != null) {
+            postAll(events.toArray());
+        }
+    }
+
+    @Override
+    public <E> CompletableFuture<Void> postAsync(final E event) {
+        if (event == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            final List<CompletableFuture<?>> pending = new ArrayList<>();
+            pendingAsync.set(pending);
+            try {
+                dispatch(event);
+            } finally {
+                pendingAsync.remove();
+            }
+
+            return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]));
+        }, executor("")).thenCompose(Function.identity());
+    }
+
+    @Override
+    public <E> boolean enqueue(final E event) {
+        return event != null && queue.enqueue(event);
+    }
+
+    @Override
+    public int drain(final int maxEvents) {
+        synchronized (queue) {
+            if (draining || maxEvents <= 0) {
+                return 0;
+            }
+
+            draining = true;
+            expunge();
+            final Object[] run = drainRun;
+            int drained = 0;
+            int n = 0;
+            try {
+                // An event that ends a run is carried over as the start of the next one.
+                Object pending = null;
+                while (true) {
+                    Object first = pending;
+                    pending = null;
+                    if (first == null) {
+                        if (drained >= maxEvents || (first = poll()) == null) {
+                            break;
+                        }
+
+                        drained++;
+                    }
+
+                    final Class<?> type = first.getClass();
+                    run[0] = first;
+                    n = 1;
+                    while (n < run.length && drained < maxEvents) {
+                        final Object next = poll();
+                        if (next == null) {
+                            break;
+                        }
+
+                        drained++;
+                        if (next.getClass() != type) {
+                            pending = next;
+                            break;
+                        }
+
+                        run[n++] = next;
+                    }
+
+                    try {
+                        dispatchRun(type, run, 0, n);
+                    } catch (final Throwable t) {
+                        // The events after the one whose listener threw are kept in front of the queue for the next drain.
+                        final BatchFailure failure = t instanceof BatchFailure f ? f : null;
+                        if (pending != null) {
+                            backlog.addFirst(pending);
+                        }
+
+                        for (int i = n - 1; i > (failure == null ? 0 : failure.index()); i--) {
+                            backlog.addFirst(run[i]);
+                        }
+
+                        throw SpecializedSite.rethrow(failure == null ? t : failure.getCause());
+                    }
+
+                    Arrays.fill(run, 0, n, null);
+                    n = 0;
+                }
+            } finally {
+                Arrays.fill(run, 0, n, null);
+                draining = false;
+            }
+
+            return drained;
+        }
+    }
+
+    /**
+     * @return the number of dequeued events that a listener that threw left undispatched, the next drain dispatches them first.
+     */
+    int backlog() {
+        synchronized (queue) {
+            return backlog.size();
+        }
+    }
+
+    private Object poll() {
+        final Object event = backlog.pollFirst();
+        return event != null ? event : queue.poll();
+    }
+
+    @Override
+    public Subscription subscribe(final Object subscriber) {
+        return subscribe(subscriber, false, null);
+    }
+
+    @Override
+    public Subscription subscribe(final Object subscriber, final String tag) {
+        return subscribe(subscriber, false, tag(tag));
+    }
+
+    @Override
+    public Subscription subscribeWeak(final Object subscriber) {
+        return subscribe(subscriber, true, null);
+    }
+
+    @Override
+    public boolean setEnabled(final Object subscriber, final boolean enabled) {
         if (subscriber != null) {
-            GeneratedBootstrap.register(this, state, subscriber);
+            for (int i = 0; i < registries.length; i++) {
+                final Toggle toggle = registries[i].toggle(states[i], subscriber);
+                if (toggle != null) {
+                    toggle.setEnabled(enabled);
+                    return true;
+                }
+            }
         }
+
+        return false;
+    }
+
+    @Override
+    public void setTagEnabled(final String tag, final boolean enabled) {
+        tag(tag).setEnabled(enabled);
     }
 
     @Override
     public void unsubscribe(final Object subscriber) {
         if (subscriber != null) {
-            GeneratedBootstrap.unregister(this, state, subscriber);
+            for (int i = 0; i < registries.length; i++) {
+                registries[i].unregister(states[i], subscriber, null);
+            }
+        }
+    }
+
+    @Override
+    public void subscribeAll(final Collection<?> subscribers) {
+        if (subscribers != null) {
+            expunge();
+            final BucketBatch batch = new BucketBatch();
+            final List<Toggle> toggles = new ArrayList<>();
+            final List<Registration[]> added = new ArrayList<>();
+            try {
+                for (final Object subscriber : subscribers) {
+                    if (subscriber == null) {
+                        continue;
+                    }
+
+                    final Toggle toggle = new Toggle(null);
+                    final Registration[] registrations = register(subscriber, false, toggle, batch);
+                    if (registrations != null) {
+                        toggles.add(toggle);
+                        added.add(registrations);
+                    }
+                }
+            } finally {
+                batch.publish();
+            }
+
+            // Gating swaps invokers in place, so it waits until the batch has added them.
+            for (int i = 0; i < added.size(); i++) {
+                gateOnDisable(toggles.get(i), added.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void unsubscribeAll(final Collection<?> subscribers) {
+        if (subscribers != null) {
+            final BucketBatch batch = new BucketBatch();
+            try {
+                for (final Object subscriber : subscribers) {
+                    if (subscriber == null) {
+                        continue;
+                    }
+
+                    for (int i = 0; i < registries.length; i++) {
+                        registries[i].unregister(states[i], subscriber, batch);
+                    }
+                }
+            } finally {
+                batch.publish();
+            }
         }
     }
 
     @Override
     public boolean isSubscribed(final Object subscriber) {
         if (subscriber != null) {
-            return GeneratedBootstrap.isSubscribed(state, subscriber);
+            for (int i = 0; i < registries.length; i++) {
+                if (registries[i].isSubscribed(states[i], subscriber)) {
+                    return true;
+                }
+            }
         }
 
         return false;
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public boolean hasListeners(final Class<?> type) {
+        if (type == null) {
+            return false;
+        }
+
+        final Route route = routes.get(type);
+        final int[] codes = route.codes;
+        for (int i = 0; i < codes.length; i++) {
+            if (route.registries[i].hasListeners(codes[i], route.states[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean hasListeners(final int id) {
+        final int owner = id >= 0 && id < idOwners.length ? idOwners[id] : ID_UNKNOWN;
+        if (owner >= 0) {
+            return registries[owner].hasListenersById(states[owner], id);
+        }
+
+        // Ids are module-local, so shared ids are answered by the types that carry them.
+        final Class<?>[] types = idTypes.get(id);
+        if (types != null) {
+            for (final Class<?> type : types) {
+                if (hasListeners(type)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        final StringBuilder sb = new StringBuilder("{\n  \"registries\": [");
+        for (int i = 0; i < registries.length; i++) {
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    {\n      \"registry\": ").append(jsonString(registries[i].getClass().getName())).append(",\n");
+            sb.append("      \"listeners\": {");
+            boolean first = true;
+            for (final Map.Entry<String, Integer> count : registries[i].listenerCounts(states[i]).entrySet()) {
+                sb.append(first ? "\n" : ",\n").append("        ").append(jsonString(count.getKey())).append(": ").append(count.getValue());
+                first = false;
+            }
+
+            sb.append(first ? "},\n" : "\n      },\n");
+            sb.append("      \"report\": ").append(report(registries[i]).replace("\n", "\n      ")).append("\n    }");
+        }
+
+        return sb.append(registries.length == 0 ? "]\n}\n" : "\n  ]\n}\n").toString();
+    }
+
+    @Override
+    public void invalidateProviders() {
+        providerEpoch.incrementAndGet();
+    }
+
     public <T> T getProvider(final int providerId) {
-        final Object slot = providers[providerId];
+        return resolve(providers.get(providerId));
+    }
+
+    /**
+     * Reads a slot of the provider table a registry got from this bus. Used by generated code.
+     */
+    public <T> T getProvider(final Object[] table, final int slot) {
+        return resolve(table[slot]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T resolve(final Object slot) {
+        if (slot instanceof CachedProvider<?> cached) {
+            return (T) cached.get(providerEpoch.get());
+        }
+
         if (slot != null) {
             return ((Supplier<T>) slot).get();
         }
@@ -62,8 +442,254 @@ public final class RokitEventBus implements EventBus {
         return null;
     }
 
+    public Executor executor(final String name) {
+        final Executor executor = executors.get(name);
+        if (executor == null) {
+            throw new IllegalStateException("No executor registered under the name '" + name + "'");
+        }
+
+        return executor;
+    }
+
+    /**
+     * Runs an asynchronous listener invocation. Invocations made while {@link #postAsync(Object)} dispatches are tracked by its future.
+     */
+    public void submitAsync(final Executor executor, final Runnable invocation) {
+        final List<CompletableFuture<?>> pending = pendingAsync.get();
+        if (pending != null) {
+            pending.add(CompletableFuture.runAsync(invocation, executor));
+        } else {
+            executor.execute(invocation);
+        }
+    }
+
+    /**
+     * @return the dispatch metrics of this bus. They are only recorded if the processor ran with {@code -Arokit.metrics=true}.
+     */
+    public DispatchMetrics metrics() {
+        return metrics;
+    }
+
+    EventQueue queue() {
+        return queue;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
 
+    private Subscription subscribe(final Object subscriber, final boolean weak, final Toggle group) {
+        if (subscriber == null) {
+            return RokitSubscription.EMPTY;
+        }
+
+        expunge();
+        // One toggle for every registry, so the subscriber is switched as a whole.
+        final Toggle toggle = new Toggle(group);
+        final Registration[] registrations = register(subscriber, weak, toggle, null);
+        if (registrations == null) {
+            return RokitSubscription.EMPTY;
+        }
+
+        gateOnDisable(toggle, registrations);
+        return new RokitSubscription(this, registrations, toggle);
+    }
+
+    private Registration[] register(final Object subscriber, final boolean weak, final Toggle toggle, final BucketBatch batch) {
+        final long[] overridden = this.overridden.get(subscriber.getClass());
+        Registration[] registrations = null;
+        for (int i = 0; i < registries.length; i++) {
+            final Registration registration = registries[i].register(this, states[i], subscriber, weak, toggle, overridden, batch);
+            if (registration != null) {
+                if (registrations == null) {
+                    registrations = new Registration[registries.length];
+                }
+
+                registrations[i] = registration;
+            }
+        }
+
+        return registrations;
+    }
+
+    // Invokers of an untagged subscription do not check its toggle until it is switched off for the first time.
+    private void gateOnDisable(final Toggle toggle, final Registration[] registrations) {
+        if (!toggle.isGrouped()) {
+            toggle.gateWith(() -> {
+                for (int i = 0; i < registrations.length; i++) {
+                    if (registrations[i] != null) {
+                        registrations[i].gate(states[i]);
+                    }
+                }
+            });
+        }
+    }
+
+    private Toggle tag(final String tag) {
+        return tags.computeIfAbsent(Objects.requireNonNull(tag, "tag"), k -> new Toggle(null));
+    }
+
+    // Each registration is removed from its registry directly, the subscriber is not looked up.
+    void unregister(final Registration[] registrations) {
+        for (int i = 0; i < registrations.length; i++) {
+            if (registrations[i] != null) {
+                registries[i].unregister(states[i], registrations[i], null);
+            }
+        }
+    }
+
+    private void expunge() {
+        for (int i = 0; i < registries.length; i++) {
+            registries[i].expunge(states[i]);
+        }
+    }
+
+    private void dispatch(final Object event) {
+        dispatch(routes.get(event.getClass()), event);
+    }
+
+    private void dispatch(final Route route, final Object event) {
+        final Registry[] targets = route.registries;
+        final BusState[] targetStates = route.states;
+        final int[] codes = route.codes;
+        if (codes.length == 1) {
+            targets[0].dispatch(codes[0], this, targetStates[0], event);
+            return;
+        }
+
+        // Every route code only orders its own listeners, so several codes are walked one priority at a time.
+        // Listeners of equal priority run in route order.
+        long band = Integer.MAX_VALUE;
+        while (band != Registry.NO_PRIORITY) {
+            long next = Registry.NO_PRIORITY;
+            for (int i = 0; i < codes.length; i++) {
+                next = Math.max(next, targets[i].dispatchBand(codes[i], this, targetStates[i], event, (int) band));
+            }
+
+            band = next;
+        }
+    }
+
+    // A run is only batched along a single route code, several codes would reorder deliveries across the events of the run.
+    private void dispatchRun(final Class<?> type, final Object[] events, final int from, final int to) {
+        final Route route = routes.get(type);
+        if (route.codes.length == 1) {
+            route.registries[0].dispatchBatch(route.codes[0], this, route.states[0], events, from, to);
+            return;
+        }
+
+        int i = from;
+        try {
+            for (; i < to; i++) {
+                dispatch(route, events[i]);
+            }
+        } catch (final Throwable t) {
+            throw BatchFailure.at(i, t);
+        }
+    }
+
+    private Route route(final Class<?> type) {
+        final List<Registry> targets = new ArrayList<>();
+        final List<BusState> targetStates = new ArrayList<>();
+        final List<Integer> codes = new ArrayList<>();
+        for (int i = 0; i < registries.length; i++) {
+            for (final int code : registries[i].route(type)) {
+                targets.add(registries[i]);
+                targetStates.add(states[i]);
+                codes.add(code);
+            }
+        }
+
+        return new Route(targets.toArray(new Registry[0]), targetStates.toArray(new BusState[0]), codes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // Every registry numbers its providers on its own, its table maps them to the providers of the bus by their key.
+    private static Object[] providerTable(final Registry registry, final Map<Integer, Object> providers, final Map<Integer, String> names) {
+        final int[] ids = registry.providerIds();
+        final String[] providerNames = registry.providerNames();
+        final Object[] table = new Object[ids.length];
+        for (int k = 0; k < ids.length; k++) {
+            final String other = names.putIfAbsent(ids[k], providerNames[k]);
+            if (other != null && !other.equals(providerNames[k])) {
+                throw new IllegalStateException("Providers " + other + " and " + providerNames[k] + " share the key " + ids[k]);
+            }
+
+            table[k] = providers.get(ids[k]);
+        }
+
+        return table;
+    }
+
+    // An id is only dispatched directly if a single registry owns it and no other registry listens to its type.
+    private static int[] idOwners(final Registry[] registries) {
+        int max = -1;
+        for (final Registry registry : registries) {
+            for (final int id : registry.eventIds()) {
+                if (id >= 0 && id < MAX_DIRECT_ID) {
+                    max = Math.max(max, id);
+                }
+            }
+        }
+
+        final int[] owners = new int[max + 1];
+        Arrays.fill(owners, ID_UNKNOWN);
+        for (int r = 0; r < registries.length; r++) {
+            final int[] ids = registries[r].eventIds();
+            final Class<?>[] types = registries[r].eventIdTypes();
+            for (int k = 0; k < ids.length; k++) {
+                final int id = ids[k];
+                if (id < 0 || id >= MAX_DIRECT_ID) {
+                    continue;
+                }
+
+                owners[id] = owners[id] == ID_UNKNOWN && !listenedElsewhere(registries, r, types[k]) ? r : ID_SHARED;
+            }
+        }
+
+        return owners;
+    }
+
+    private static Map<Integer, Class<?>[]> idTypes(final Registry[] registries) {
+        final Map<Integer, Class<?>[]> types = new HashMap<>();
+        for (final Registry registry : registries) {
+            final int[] ids = registry.eventIds();
+            final Class<?>[] idTypes = registry.eventIdTypes();
+            for (int k = 0; k < ids.length; k++) {
+                final Class<?> type = idTypes[k];
+                types.merge(ids[k], new Class<?>[] {type}, (a, b) -> {
+                    final Class<?>[] merged = Arrays.copyOf(a, a.length + 1);
+                    merged[a.length] = type;
+                    return merged;
+                });
+            }
+        }
+
+        return types;
+    }
+
+    private static boolean listenedElsewhere(final Registry[] registries, final int owner, final Class<?> type) {
+        for (int i = 0; i < registries.length; i++) {
+            if (i != owner && registries[i].route(type).length > 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // Written by the processor next to the registry class if it ran with -Arokit.report=true.
+    private static String report(final Registry registry) {
+        try (final InputStream in = registry.getClass().getResourceAsStream("/META-INF/rokit/" + registry.getClass().getName() + ".json")) {
+            return in == null ? "null" : new String(in.readAllBytes(), StandardCharsets.UTF_8).strip();
+        } catch (final IOException e) {
+            return "null";
+        }
+    }
+
+    private static String jsonString(final String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private record Route(Registry[] registries, BusState[] states, int[] codes) {}
+
 }
@@ -0,0 +1,40 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.gen.Registration;
+import bot.staro.rokit.gen.Toggle;
+
+/**
+ * Holds the registrations one subscribe call made, indexed by registry. Null where a registry added nothing.
+ */
+final class RokitSubscription implements Subscription {
+    static final Subscription EMPTY = new Subscription() {
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void setEnabled(final boolean enabled) {
+        }
+    };
+
+    private final RokitEventBus bus;
+    private final Registration[] registrations;
+    private final Toggle toggle;
+
+    RokitSubscription(final RokitEventBus bus, final Registration[] registrations, final Toggle toggle) {
+        this.bus = bus;
+        this.registrations = registrations;
+        this.toggle = toggle;
+    }
+
+    @Override
+    public void close() {
+        bus.unregister(registrations);
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        toggle.setEnabled(enabled);
+    }
+
+}
@@ -0,0 +1,33 @@
+package bot.staro.rokit.gen;
+
+/**
+ * Thrown by a batch dispatch when a listener throws, so the caller knows which events of the batch were reached.
+ * The bus unwraps it and rethrows the cause of the listener.
+ * Used by generated code.
+ */
+public final class BatchFailure extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    private BatchFailure(final int index, final Throwable cause) {
+        super(null, cause, false, false);
+        this.index = index;
+    }
+
+    /**
+     * @param index the index of the event whose dispatch threw.
+     * @return the failure, or the given throwable if it already is one, since the innermost batch knows the index best.
+     */
+    public static BatchFailure at(final int index, final Throwable cause) {
+        return cause instanceof BatchFailure failure ? failure : new BatchFailure(index, cause);
+    }
+
+    /**
+     * @return the index of the event whose dispatch threw. Events before it were dispatched, events after it were not.
+     */
+    public int index() {
+        return index;
+    }
+
+}
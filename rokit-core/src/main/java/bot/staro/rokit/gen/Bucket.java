@@ -0,0 +1,240 @@
+package bot.staro.rokit.gen;
+
+import java.lang.invoke.SwitchPoint;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Holds the invokers of one generated bucket, sorted by descending priority.
+ * Every change publishes a new immutable {@link Snapshot} with a single CAS,
+ * so dispatchers always see invokers, priorities and ids that belong together and writers never block.
+ * Used by generated code.
+ */
+public final class Bucket<I> {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Bucket, Snapshot> SNAPSHOT =
+            AtomicReferenceFieldUpdater.newUpdater(Bucket.class, Snapshot.class, "snapshot");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Bucket, SwitchPoint> WATCHER =
+            AtomicReferenceFieldUpdater.newUpdater(Bucket.class, SwitchPoint.class, "watcher");
+
+    private final I[] empty;
+    private volatile Snapshot<I> snapshot;
+    private volatile SwitchPoint watcher;
+
+    /**
+     * @param empty a zero-length array of the invoker type, used to create the typed snapshot arrays.
+     */
+    public Bucket(final I[] empty) {
+        this.empty = empty;
+    }
+
+    /**
+     * @return the current snapshot, or null if the bucket has no invokers.
+     */
+    public Snapshot<I> snapshot() {
+        return snapshot;
+    }
+
+    public void add(final I invoker, final int priority, final long id) {
+        Snapshot<I> prev;
+        Snapshot<I> next;
+        do {
+            prev = snapshot;
+            next = insert(prev, invoker, priority, id);
+        } while (!SNAPSHOT.compareAndSet(this, prev, next));
+        changed();
+    }
+
+    /**
+     * Removes an invoker added with the given priority. Only invokers of that priority are searched,
+     * the rebuilt snapshot still copies the remaining invokers, so a removal is linear in the size of the bucket.
+     */
+    public boolean remove(final I invoker, final int priority) {
+        Snapshot<I> prev;
+        Snapshot<I> next;
+        do {
+            prev = snapshot;
+            final int idx = prev == null ? -1 : prev.indexOf(invoker, priority);
+            if (idx < 0) {
+                return false;
+            }
+
+            next = without(prev, idx);
+        } while (!SNAPSHOT.compareAndSet(this, prev, next));
+        changed();
+        return true;
+    }
+
+    /**
+     * Swaps an invoker added with the given priority for another one at the same place, keeping its id.
+     * @return false if the invoker is not in the bucket.
+     */
+    public boolean replace(final I invoker, final I replacement, final int priority) {
+        Snapshot<I> prev;
+        Snapshot<I> next;
+        do {
+            prev = snapshot;
+            final int idx = prev == null ? -1 : prev.indexOf(invoker, priority);
+            if (idx < 0) {
+                return false;
+            }
+
+            final I[] invokers = prev.invokers.clone();
+            invokers[idx] = replacement;
+            next = new Snapshot<>(invokers, prev.priorities, prev.ids);
+        } while (!SNAPSHOT.compareAndSet(this, prev, next));
+        changed();
+        return true;
+    }
+
+    /**
+     * Invalidates the switch point on the next change of the bucket. Used by {@link SpecializedSite}.
+     */
+    void watch(final SwitchPoint switchPoint) {
+        watcher = switchPoint;
+    }
+
+    private void changed() {
+        final SwitchPoint switchPoint = watcher == null ? null : WATCHER.getAndSet(this, null);
+        if (switchPoint != null) {
+            SwitchPoint.invalidateAll(new SwitchPoint[] { switchPoint });
+        }
+    }
+
+    /**
+     * Applies staged changes with a single snapshot rebuild. Used by {@link BucketBatch}.
+     * @param added entries sorted in the order they must appear among invokers of equal priority.
+     * @param removed invokers to drop, compared by identity. Dropping also applies to invokers added by the same batch.
+     */
+    void merge(final List<BucketBatch.Entry<I>> added, final Set<Object> removed) {
+        Snapshot<I> prev;
+        Snapshot<I> next;
+        do {
+            prev = snapshot;
+            next = merged(prev, added, removed);
+        } while (!SNAPSHOT.compareAndSet(this, prev, next));
+        changed();
+    }
+
+    private Snapshot<I> merged(final Snapshot<I> prev, final List<BucketBatch.Entry<I>> added, final Set<Object> removed) {
+        final int n = prev == null ? 0 : prev.invokers.length;
+        final int capacity = n + added.size();
+        final I[] invokers = Arrays.copyOf(empty, capacity);
+        final int[] priorities = new int[capacity];
+        final long[] ids = new long[capacity];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < n || j < added.size()) {
+            if (j < added.size() && (i >= n || added.get(j).priority() >= prev.priorities[i])) {
+                final BucketBatch.Entry<I> entry = added.get(j++);
+                if (removed.isEmpty() || !removed.contains(entry.invoker())) {
+                    invokers[size] = entry.invoker();
+                    priorities[size] = entry.priority();
+                    ids[size++] = entry.id();
+                }
+            } else {
+                if (removed.isEmpty() || !removed.contains(prev.invokers[i])) {
+                    invokers[size] = prev.invokers[i];
+                    priorities[size] = prev.priorities[i];
+                    ids[size++] = prev.ids[i];
+                }
+
+                i++;
+            }
+        }
+
+        if (size == 0) {
+            return null;
+        }
+
+        if (size == capacity) {
+            return new Snapshot<>(invokers, priorities, ids);
+        }
+
+        return new Snapshot<>(Arrays.copyOf(invokers, size), Arrays.copyOf(priorities, size), Arrays.copyOf(ids, size));
+    }
+
+    private Snapshot<I> insert(final Snapshot<I> prev, final I invoker, final int priority, final long id) {
+        final int n = prev == null ? 0 : prev.invokers.length;
+        final int pos = prev == null ? 0 : findInsertPos(prev.priorities, priority);
+        final I[] invokers = Arrays.copyOf(empty, n + 1);
+        final int[] priorities = new int[n + 1];
+        final long[] ids = new long[n + 1];
+        if (n != 0) {
+            System.arraycopy(prev.invokers, 0, invokers, 0, pos);
+            System.arraycopy(prev.priorities, 0, priorities, 0, pos);
+            System.arraycopy(prev.ids, 0, ids, 0, pos);
+            System.arraycopy(prev.invokers, pos, invokers, pos + 1, n - pos);
+            System.arraycopy(prev.priorities, pos, priorities, pos + 1, n - pos);
+            System.arraycopy(prev.ids, pos, ids, pos + 1, n - pos);
+        }
+
+        invokers[pos] = invoker;
+        priorities[pos] = priority;
+        ids[pos] = id;
+        return new Snapshot<>(invokers, priorities, ids);
+    }
+
+    private Snapshot<I> without(final Snapshot<I> prev, final int idx) {
+        final int n = prev.invokers.length;
+        if (n == 1) {
+            return null;
+        }
+
+        final I[] invokers = Arrays.copyOf(empty, n - 1);
+        final int[] priorities = new int[n - 1];
+        final long[] ids = new long[n - 1];
+        System.arraycopy(prev.invokers, 0, invokers, 0, idx);
+        System.arraycopy(prev.priorities, 0, priorities, 0, idx);
+        System.arraycopy(prev.ids, 0, ids, 0, idx);
+        System.arraycopy(prev.invokers, idx + 1, invokers, idx, n - idx - 1);
+        System.arraycopy(prev.priorities, idx + 1, priorities, idx, n - idx - 1);
+        System.arraycopy(prev.ids, idx + 1, ids, idx, n - idx - 1);
+        return new Snapshot<>(invokers, priorities, ids);
+    }
+
+    private static int findInsertPos(final int[] priorities, final int p) {
+        int lo = 0;
+        int hi = priorities.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (priorities[mid] > p) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    /**
+     * An immutable, priority-sorted view of a bucket. The three arrays always have the same length.
+     */
+    public static final class Snapshot<I> {
+        public final I[] invokers;
+        public final int[] priorities;
+        public final long[] ids;
+
+        Snapshot(final I[] invokers, final int[] priorities, final long[] ids) {
+            this.invokers = invokers;
+            this.priorities = priorities;
+            this.ids = ids;
+        }
+
+        int indexOf(final I invoker, final int priority) {
+            for (int i = findInsertPos(priorities, priority); i < invokers.length && priorities[i] == priority; i++) {
+                if (invokers[i] == invoker) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package bot.staro.rokit.gen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects bucket changes of many subscribers and publishes every touched bucket once.
+ * Not thread-safe; a batch belongs to the thread that subscribes or unsubscribes.
+ * Used by generated code.
+ */
+public final class BucketBatch {
+    private final Map<Bucket<?>, Staged<?>> staged = new IdentityHashMap<>();
+    private int sequence;
+
+    public <I> void add(final Bucket<I> bucket, final I invoker, final int priority, final long id) {
+        staged(bucket).added.add(new Entry<>(invoker, priority, id, sequence++));
+    }
+
+    public <I> void remove(final Bucket<I> bucket, final I invoker) {
+        staged(bucket).removed.add(invoker);
+    }
+
+    public void publish() {
+        for (final Map.Entry<Bucket<?>, Staged<?>> e : staged.entrySet()) {
+            e.getValue().publish(e.getKey());
+        }
+
+        staged.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I> Staged<I> staged(final Bucket<I> bucket) {
+        return (Staged<I>) staged.computeIfAbsent(bucket, k -> new Staged<>());
+    }
+
+    record Entry<I>(I invoker, int priority, long id, int sequence) {}
+
+    private static final class Staged<I> {
+        final List<Entry<I>> added = new ArrayList<>();
+        final Set<Object> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @SuppressWarnings("unchecked")
+        void publish(final Bucket<?> bucket) {
+            // A single add places the newest invoker first among equal priorities, the merged batch keeps that order.
+            added.sort((a, b) -> a.priority() != b.priority() ? Integer.compare(b.priority(), a.priority()) : Integer.compare(b.sequence(), a.sequence()));
+            ((Bucket<I>) bucket).merge(added, removed);
+        }
+    }
+
+}
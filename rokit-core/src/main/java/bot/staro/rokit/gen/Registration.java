@@ -0,0 +1,34 @@
+package bot.staro.rokit.gen;
+
+/**
+ * Holds the invokers one subscriber added to the buckets of a bus, so they can be taken out again.
+ * Generated per listener class and allocated once per subscribe.
+ * Implemented by generated code.
+ */
+public interface Registration {
+    /**
+     * @return the subscriber, or its {@link WeakSubscriber} if the subscription is weak.
+     */
+    Object key();
+
+    /**
+     * @return the toggle shared by every invoker of this registration, checked once the registration is gated.
+     */
+    Toggle toggle();
+
+    /**
+     * Adds the invokers right away, or stages the additions if a batch is given.
+     */
+    void register(BusState state, BucketBatch batch);
+
+    /**
+     * Removes the invokers right away, or stages the removals if a batch is given.
+     */
+    void unregister(BusState state, BucketBatch batch);
+
+    /**
+     * Swaps the invokers in their buckets for ones that check the toggle before every invocation. Does nothing the second time.
+     */
+    void gate(BusState state);
+
+}
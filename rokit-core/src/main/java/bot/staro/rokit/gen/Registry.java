@@ -0,0 +1,120 @@
+package bot.staro.rokit.gen;
+
+import bot.staro.rokit.RokitEventBus;
+
+import java.util.Map;
+
+/**
+ * The listeners of one compilation unit. The processor generates one registry per module
+ * and lists it in {@code META-INF/services}, the bus merges every registry it finds when it is built.
+ * Implemented by generated code.
+ */
+public interface Registry {
+    /**
+     * Returned by {@link #dispatchBand} when no listener below the band is left.
+     */
+    long NO_PRIORITY = Long.MIN_VALUE;
+
+    /**
+     * @param providers the provider table of this registry, parallel to {@link #providerIds()}. Null where the bus has no provider.
+     */
+    BusState newState(Object[] providers);
+
+    /**
+     * @return the {@code ProviderKeys} of the providers this registry reads, in the order of its provider table.
+     */
+    int[] providerIds();
+
+    /**
+     * @return the name and type of every provider in {@link #providerIds()}, so keys of different providers that collide are detected.
+     */
+    String[] providerNames();
+
+    /**
+     * @return the route codes of this registry for the given runtime event type, empty if it has no listeners for it.
+     */
+    int[] route(Class<?> type);
+
+    /**
+     * Dispatches an event along one route code returned by {@link #route(Class)}.
+     */
+    void dispatch(int code, RokitEventBus bus, BusState state, Object event);
+
+    /**
+     * Dispatches an event along one route code, but only to the listeners of the given priority.
+     * Used to walk the listeners of several registries or route codes in one priority order.
+     * @return the highest priority below {@code band} that is left to dispatch, or {@link #NO_PRIORITY}.
+     */
+    long dispatchBand(int code, RokitEventBus bus, BusState state, Object event, int band);
+
+    /**
+     * Dispatches the events in {@code [from, to)} along one route code, as if each was dispatched on its own.
+     * Every event of the range has the same runtime class. Buckets and providers are read once for the whole range.
+     * A listener that throws is reported as a {@link BatchFailure} with the index of its event.
+     */
+    void dispatchBatch(int code, RokitEventBus bus, BusState state, Object[] events, int from, int to);
+
+    /**
+     * @return true if dispatching along the given route code could reach a listener.
+     */
+    boolean hasListeners(int code, BusState state);
+
+    /**
+     * @return true if dispatching the given id could reach a listener of this registry.
+     */
+    boolean hasListenersById(BusState state, int id);
+
+    /**
+     * @return the event ids of this registry, parallel to {@link #eventIdTypes()}.
+     */
+    int[] eventIds();
+
+    /**
+     * @return the event type of every id in {@link #eventIds()}.
+     */
+    Class<?>[] eventIdTypes();
+
+    /**
+     * @return the ids of the listener methods of other registries that the listeners of this registry override for the given subscriber type.
+     * An override is called instead of the method it overrides, so those registries leave it out.
+     */
+    long[] overriddenListeners(Class<?> type);
+
+    /**
+     * @return false if the id is unknown or does not match the event, the caller then falls back to a routed dispatch.
+     */
+    boolean dispatchById(RokitEventBus bus, BusState state, Object event, int id);
+
+    /**
+     * @param weak if true, the subscriber is only weakly referenced and its subscription ends once it is collected.
+     * @param toggle the toggle the invokers check once they are gated, shared by every registry the subscriber is registered with.
+     * @param overridden the ids of {@link #overriddenListeners} of every registry for the class of the subscriber, those listener methods are left out.
+     * @return the new registration, or null if the subscriber was already subscribed or has no listeners in this registry.
+     */
+    Registration register(RokitEventBus bus, BusState state, Object subscriber, boolean weak, Toggle toggle, long[] overridden, BucketBatch batch);
+
+    void unregister(BusState state, Object subscriber, BucketBatch batch);
+
+    /**
+     * Removes a registration returned by {@link #register}, unless it was already removed.
+     */
+    void unregister(BusState state, Registration registration, BucketBatch batch);
+
+    boolean isSubscribed(BusState state, Object subscriber);
+
+    /**
+     * @return the toggle of the subscriber, or null if it is not subscribed with this registry.
+     */
+    Toggle toggle(BusState state, Object subscriber);
+
+    /**
+     * @return the number of subscribed listener methods of every event type, keyed by the type name used in the report of the registry.
+     */
+    Map<String, Integer> listenerCounts(BusState state);
+
+    /**
+     * Takes the invokers of collected weak subscribers out of the buckets.
+     */
+    void expunge(BusState state);
+
+}
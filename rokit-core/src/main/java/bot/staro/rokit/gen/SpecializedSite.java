@@ -0,0 +1,160 @@
+package bot.staro.rokit.gen;
+
+import bot.staro.rokit.Cancellable;
+import bot.staro.rokit.RokitEventBus;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.SwitchPoint;
+import java.util.function.Function;
+
+/**
+ * The call site of one specialized dispatcher. While the subscribers of its bucket do not change,
+ * the site is linked to a straight-line chain of the current invokers, so the JIT can inline listener bodies into the post.
+ * Every change of the bucket invalidates the chain through a {@link SwitchPoint}, the site then dispatches through the
+ * generic loop and relinks once the bucket has been stable for a while.
+ * The chain is bound to the state of one bus, posts of other buses take the generic loop.
+ * Used by generated code.
+ */
+public final class SpecializedSite {
+    private static final int RELINK_THRESHOLD = 1024;
+    private static final int MAX_INVOKERS = 64;
+    private static final int MAX_RETARGETS = 8;
+    private static final MethodType TYPE = MethodType.methodType(void.class, Object.class, Object.class, Object.class);
+    private static final MethodHandle SLOW_PATH;
+    private static final MethodHandle SAME;
+    private static final MethodHandle CANCELLED;
+    private static final MethodHandle NOOP = MethodHandles.empty(MethodType.methodType(void.class, Object.class));
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SLOW_PATH = lookup.findVirtual(SpecializedSite.class, "slowPath", TYPE);
+            SAME = lookup.findStatic(SpecializedSite.class, "same", MethodType.methodType(boolean.class, Object.class, Object.class));
+            CANCELLED = lookup.findVirtual(Cancellable.class, "isCancelled", MethodType.methodType(boolean.class))
+                    .asType(MethodType.methodType(boolean.class, Object.class));
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MutableCallSite site = new MutableCallSite(TYPE);
+    private final MethodHandle loop;
+    private final MethodHandle invoke;
+    private final boolean skipCancelled;
+    private final Function<Object, Bucket<?>> bucket;
+    private final MethodHandle fallback;
+    private int misses;
+    private int retargets;
+    private boolean disabled;
+    private Object linked;
+
+    /**
+     * @param lookup the lookup of the dispatcher class.
+     * @param loop the name of the static generic dispatch method {@code (RokitEventBus, stateType, eventType)void} of the dispatcher.
+     * @param invokerType the invoker interface of the bucket, with a single {@code invoke(eventType)} method.
+     * @param skipCancelled whether the invokers are skipped once the event is cancelled.
+     * @param bucket resolves the bucket of a bus state.
+     */
+    public SpecializedSite(final MethodHandles.Lookup lookup, final String loop, final Class<?> stateType, final Class<?> eventType,
+                           final Class<?> invokerType, final boolean skipCancelled, final Function<Object, Bucket<?>> bucket) {
+        try {
+            this.loop = lookup.findStatic(lookup.lookupClass(), loop, MethodType.methodType(void.class, RokitEventBus.class, stateType, eventType)).asType(TYPE);
+            this.invoke = lookup.findVirtual(invokerType, "invoke", MethodType.methodType(void.class, eventType));
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot specialize " + lookup.lookupClass().getName(), e);
+        }
+
+        this.skipCancelled = skipCancelled;
+        this.bucket = bucket;
+        this.fallback = SLOW_PATH.bindTo(this);
+        site.setTarget(fallback);
+    }
+
+    /**
+     * @return a handle of type {@code (Object bus, Object state, Object event)void} that always calls the current target.
+     * Must be stored in a static final field for the JIT to inline through it.
+     */
+    public MethodHandle dynamicInvoker() {
+        return site.dynamicInvoker();
+    }
+
+    /**
+     * Rethrows a throwable of a listener as it is. Use as {@code throw SpecializedSite.rethrow(t)}.
+     */
+    public static RuntimeException rethrow(final Throwable t) {
+        return SpecializedSite.<RuntimeException>sneaky(t);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T sneaky(final Throwable t) throws T {
+        throw (T) t;
+    }
+
+    private static boolean same(final Object expected, final Object actual) {
+        return expected == actual;
+    }
+
+    private void slowPath(final Object bus, final Object state, final Object event) throws Throwable {
+        loop.invokeExact(bus, state, event);
+        // Counted without synchronization, a lost update only delays the relink.
+        if (!disabled && ++misses >= RELINK_THRESHOLD) {
+            relink(state);
+        }
+    }
+
+    private synchronized void relink(final Object state) {
+        if (disabled || misses < RELINK_THRESHOLD) {
+            return;
+        }
+
+        misses = 0;
+        if (linked != null && linked != state && ++retargets > MAX_RETARGETS) {
+            // Several buses post the same event, a chain would keep being replaced.
+            disabled = true;
+            linked = null;
+            site.setTarget(fallback);
+            return;
+        }
+
+        final Bucket<?> target = bucket.apply(state);
+        final SwitchPoint switchPoint = new SwitchPoint();
+        // Watch before reading, so a change after the read either invalidates the switch point or fails the check below.
+        target.watch(switchPoint);
+        final Bucket.Snapshot<?> snapshot = target.snapshot();
+        if (snapshot != null && snapshot.invokers.length > MAX_INVOKERS) {
+            return;
+        }
+
+        final MethodHandle chain = MethodHandles.guardWithTest(
+                MethodHandles.dropArguments(SAME.bindTo(state), 0, Object.class),
+                MethodHandles.dropArguments(chain(snapshot), 0, Object.class, Object.class),
+                fallback);
+        linked = state;
+        site.setTarget(switchPoint.guardWithTest(chain, fallback));
+        if (target.snapshot() != snapshot) {
+            SwitchPoint.invalidateAll(new SwitchPoint[] { switchPoint });
+        }
+    }
+
+    private MethodHandle chain(final Bucket.Snapshot<?> snapshot) {
+        if (snapshot == null) {
+            return NOOP;
+        }
+
+        MethodHandle chain = null;
+        for (int i = snapshot.invokers.length - 1; i >= 0; i--) {
+            MethodHandle step = invoke.bindTo(snapshot.invokers[i]).asType(NOOP.type());
+            if (skipCancelled) {
+                step = MethodHandles.guardWithTest(CANCELLED, NOOP, step);
+            }
+
+            chain = chain == null ? step : MethodHandles.foldArguments(chain, step);
+        }
+
+        return chain;
+    }
+
+}
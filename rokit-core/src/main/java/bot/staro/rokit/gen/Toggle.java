@@ -0,0 +1,112 @@
+package bot.staro.rokit.gen;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Switches the invokers of one subscription on and off without taking them out of their buckets.
+ * A subscription made with a tag also follows the toggle of its tag.
+ * Invokers only check the toggle once they are gated: from the start if the subscription follows a tag,
+ * otherwise from the first time it is switched off. Until then an invocation does not read it at all.
+ * Its own switch and the one of its tag share a single volatile field, so a gated invocation checks both with one read.
+ * Used by generated code.
+ */
+public final class Toggle {
+    private static final int OWN = 1;
+    private static final int GROUP = 2;
+    private static final AtomicIntegerFieldUpdater<Toggle> DISABLED = AtomicIntegerFieldUpdater.newUpdater(Toggle.class, "disabled");
+
+    private final boolean grouped;
+    // Only tags have members. They are held weakly, so a dropped subscription does not have to leave its tag,
+    // and cleared references are dropped whenever the members are walked.
+    private WeakReference<Toggle>[] members;
+    private int memberCount;
+    private Runnable gate;
+    private volatile int disabled;
+
+    /**
+     * @param group the toggle of the tag, or null.
+     */
+    public Toggle(final Toggle group) {
+        this.grouped = group != null;
+        if (group != null) {
+            group.join(this);
+        }
+    }
+
+    /**
+     * @return true if the subscription follows a tag, so its invokers have to be gated from the start.
+     */
+    public boolean isGrouped() {
+        return grouped;
+    }
+
+    public boolean isEnabled() {
+        return disabled == 0;
+    }
+
+    /**
+     * Sets the action that gates the invokers of the subscription, it runs the first time the toggle is switched off.
+     * Runs it right away if the toggle already is.
+     */
+    public synchronized void gateWith(final Runnable gate) {
+        if ((disabled & OWN) != 0) {
+            gate.run();
+        } else {
+            this.gate = gate;
+        }
+    }
+
+    public synchronized void setEnabled(final boolean enabled) {
+        if (!enabled && gate != null) {
+            final Runnable action = gate;
+            gate = null;
+            action.run();
+        }
+
+        set(OWN, !enabled);
+        if (members != null) {
+            prune(!enabled);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void join(final Toggle member) {
+        if (members == null) {
+            members = new WeakReference[8];
+        } else if (memberCount == members.length) {
+            prune((disabled & OWN) != 0);
+            if (memberCount > members.length >> 1) {
+                members = Arrays.copyOf(members, members.length << 1);
+            }
+        }
+
+        members[memberCount++] = new WeakReference<>(member);
+        member.set(GROUP, (disabled & OWN) != 0);
+    }
+
+    // Writes the state of the tag to every live member and compacts the collected ones away, without allocating.
+    private void prune(final boolean off) {
+        int live = 0;
+        for (int i = 0; i < memberCount; i++) {
+            final WeakReference<Toggle> reference = members[i];
+            final Toggle member = reference.get();
+            if (member != null) {
+                member.set(GROUP, off);
+                members[live++] = reference;
+            }
+        }
+
+        Arrays.fill(members, live, memberCount, null);
+        memberCount = live;
+    }
+
+    private void set(final int flag, final boolean on) {
+        int prev;
+        do {
+            prev = disabled;
+        } while (!DISABLED.compareAndSet(this, prev, on ? prev | flag : prev & ~flag));
+    }
+
+}
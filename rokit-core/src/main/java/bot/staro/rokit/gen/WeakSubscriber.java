@@ -0,0 +1,38 @@
+package bot.staro.rokit.gen;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * The weak reference of one weak subscription, shared by all of its invokers.
+ * Two references are equal if they refer to the same, still reachable subscriber.
+ * Used by generated code.
+ */
+public final class WeakSubscriber extends WeakReference<Object> {
+    private final int hash;
+
+    WeakSubscriber(final Object subscriber, final ReferenceQueue<Object> queue) {
+        super(subscriber, queue);
+        this.hash = System.identityHashCode(subscriber);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof WeakSubscriber other)) {
+            return false;
+        }
+
+        final Object subscriber = get();
+        return subscriber != null && subscriber == other.get();
+    }
+
+}
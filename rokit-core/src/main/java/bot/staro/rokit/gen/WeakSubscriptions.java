@@ -0,0 +1,70 @@
+package bot.staro.rokit.gen;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The weak subscriptions of one registry on one bus. Subscribers are not kept reachable by the bus,
+ * their invokers skip them once they are collected, and {@link #expunge(BusState)} takes those invokers out of the buckets.
+ * Used by generated code.
+ */
+public final class WeakSubscriptions {
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private final ConcurrentHashMap<WeakSubscriber, Registration> registrations = new ConcurrentHashMap<>();
+
+    public WeakSubscriber reference(final Object subscriber) {
+        return new WeakSubscriber(subscriber, queue);
+    }
+
+    /**
+     * @return false if the subscriber already has a weak subscription.
+     */
+    public boolean add(final WeakSubscriber reference, final Registration registration) {
+        return registrations.putIfAbsent(reference, registration) == null;
+    }
+
+    public Registration remove(final Object subscriber) {
+        return registrations.isEmpty() ? null : registrations.remove(new WeakSubscriber(subscriber, null));
+    }
+
+    /**
+     * @return true if the registration was still the one of its reference and has been removed.
+     */
+    public boolean remove(final WeakSubscriber reference, final Registration registration) {
+        return registrations.remove(reference, registration);
+    }
+
+    public Registration get(final Object subscriber) {
+        return registrations.isEmpty() ? null : registrations.get(new WeakSubscriber(subscriber, null));
+    }
+
+    public boolean contains(final Object subscriber) {
+        return !registrations.isEmpty() && registrations.containsKey(new WeakSubscriber(subscriber, null));
+    }
+
+    /**
+     * Unregisters every subscription whose subscriber was collected. All affected buckets are rebuilt once.
+     */
+    public void expunge(final BusState state) {
+        Reference<?> reference = queue.poll();
+        if (reference == null) {
+            return;
+        }
+
+        final BucketBatch batch = new BucketBatch();
+        try {
+            do {
+                final Registration registration = registrations.remove(reference);
+                if (registration != null) {
+                    registration.unregister(state, batch);
+                }
+
+                reference = queue.poll();
+            } while (reference != null);
+        } finally {
+            batch.publish();
+        }
+    }
+
+}
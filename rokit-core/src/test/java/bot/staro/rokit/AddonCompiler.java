@@ -0,0 +1,65 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.gen.Registry;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Compiles listener classes with the processor into a module of their own, as an addon jar would be built against the core.
+ */
+final class AddonCompiler {
+    private AddonCompiler() {
+    }
+
+    /**
+     * @param sources the source of every class, keyed by its qualified name.
+     * @param options further javac options, e.g. processor options.
+     * @return a loader of the compiled classes, its {@link #registries} are the ones generated for them.
+     */
+    static URLClassLoader compile(final String generatedPackage, final Map<String, String> sources, final String... options) throws IOException {
+        final Path dir = Files.createTempDirectory("rokit-addon");
+        final List<String> args = new ArrayList<>(List.of("-d", dir.resolve("classes").toString(), "-cp", System.getProperty("java.class.path"),
+                "-processor", "bot.staro.rokit.processor.EventListenerProcessor", "-Arokit.generatedPackage=" + generatedPackage));
+        args.addAll(List.of(options));
+        for (final Map.Entry<String, String> source : sources.entrySet()) {
+            final Path file = dir.resolve("src").resolve(source.getKey().replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+            args.add(file.toString());
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        if (compiler.run(null, null, errors, args.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Compiling the addon failed:\n" + errors);
+        }
+
+        return new URLClassLoader(new URL[] {dir.resolve("classes").toUri().toURL()}, AddonCompiler.class.getClassLoader());
+    }
+
+    /**
+     * @return the registries generated for the classes of the loader, without those of its parents.
+     */
+    static List<Registry> registries(final ClassLoader loader) {
+        final List<Registry> registries = new ArrayList<>();
+        for (final Registry registry : ServiceLoader.load(Registry.class, loader)) {
+            if (registry.getClass().getClassLoader() == loader) {
+                registries.add(registry);
+            }
+        }
+
+        return registries;
+    }
+
+}
@@ -0,0 +1,56 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.gen.Registry;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLClassLoader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DescribeTest {
+    public static final class Frame {}
+
+    public static final class Hud {
+        @Listener
+        public void onFrame(final Frame event) {
+        }
+
+    }
+
+    @Test
+    void countsLiveListenersPerEventType() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final Hud first = new Hud();
+        bus.subscribe(first);
+        bus.subscribe(new Hud());
+        assertTrue(bus.describe().contains("\"bot.staro.rokit.DescribeTest.Frame\": 2"), bus.describe());
+
+        bus.unsubscribe(first);
+        assertTrue(bus.describe().contains("\"bot.staro.rokit.DescribeTest.Frame\": 1"), bus.describe());
+    }
+
+    @Test
+    void includesTheReportOfRegistriesGeneratedWithOne() throws Exception {
+        try (URLClassLoader loader = AddonCompiler.compile("addon.generated", Map.of("addon.Minimap", """
+                package addon;
+
+                import bot.staro.rokit.DescribeTest;
+                import bot.staro.rokit.Listener;
+
+                public class Minimap {
+                    @Listener(priority = 3)
+                    public void onFrame(final DescribeTest.Frame event) {
+                    }
+                }
+                """), "-Arokit.report=true")) {
+            final Registry registry = AddonCompiler.registries(loader).getFirst();
+            final String description = RokitEventBus.builder().withRegistry(registry).build().describe();
+            assertTrue(description.contains("\"registry\": \"" + registry.getClass().getName() + "\""), description);
+            assertTrue(description.contains("{\"owner\": \"addon.Minimap\", \"method\": \"onFrame\", \"priority\": 3, \"async\": false}"), description);
+            // The registry of this module was generated without a report.
+            assertTrue(description.contains("\"report\": null"), description);
+        }
+    }
+
+}
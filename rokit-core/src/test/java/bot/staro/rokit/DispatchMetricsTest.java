@@ -0,0 +1,68 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DispatchMetricsTest {
+    public static final class Tick {}
+
+    public static final class Clock {
+        @Listener
+        public void onTick(final Tick event) {
+        }
+
+    }
+
+    @Test
+    void countsPostsAndProviderTimePerEventType() {
+        final DispatchMetrics metrics = new DispatchMetrics();
+        metrics.recordPost(1L, "Tick");
+        metrics.recordPost(1L, "Tick");
+        metrics.recordProviders(1L, "Tick", 100L);
+
+        final DispatchMetrics.EventStats stats = metrics.snapshot().events().getFirst();
+        assertEquals("Tick", stats.eventType());
+        assertEquals(2L, stats.posts());
+        assertEquals(100L, stats.providerNanos());
+    }
+
+    @Test
+    void recordsInvocationLatencyPerListener() {
+        final DispatchMetrics metrics = new DispatchMetrics();
+        metrics.nameListener(7L, "Clock#onTick(Tick)");
+        for (int i = 0; i < 99; i++) {
+            metrics.recordInvocation(7L, 100L);
+        }
+
+        metrics.recordInvocation(7L, 5000L);
+        final DispatchMetrics.ListenerStats stats = metrics.snapshot().listeners().getFirst();
+        assertEquals("Clock#onTick(Tick)", stats.listener());
+        assertEquals(100L, stats.invocations());
+        assertEquals(99 * 100L + 5000L, stats.totalNanos());
+        assertEquals(128L, stats.percentile(50));
+        assertEquals(8192L, stats.percentile(100));
+    }
+
+    @Test
+    void resetClearsEveryCounter() {
+        final DispatchMetrics metrics = new DispatchMetrics();
+        metrics.recordPost(1L, "Tick");
+        metrics.recordInvocation(7L, 100L);
+        metrics.reset();
+
+        final DispatchMetrics.Snapshot snapshot = metrics.snapshot();
+        assertTrue(snapshot.events().isEmpty());
+        assertTrue(snapshot.listeners().isEmpty());
+    }
+
+    @Test
+    void dispatchersGeneratedWithoutMetricsRecordNothing() {
+        final RokitEventBus bus = (RokitEventBus) RokitEventBus.builder().build();
+        bus.subscribe(new Clock());
+        bus.post(new Tick());
+        assertTrue(bus.metrics().snapshot().events().isEmpty());
+        assertTrue(bus.metrics().snapshot().listeners().isEmpty());
+    }
+
+}
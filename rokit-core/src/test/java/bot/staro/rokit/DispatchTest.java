@@ -0,0 +1,114 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DispatchTest {
+    public static final class Tick {}
+
+    public static final class Named {
+        private final List<String> log;
+        private final String name;
+
+        public Named(final List<String> log, final String name) {
+            this.log = log;
+            this.name = name;
+        }
+
+        @Listener(priority = 10)
+        public void first(final Tick event) {
+            log.add(name + ":10");
+        }
+
+        @Listener
+        public void middle(final Tick event) {
+            log.add(name + ":0");
+        }
+
+        @Listener(priority = -10)
+        public void last(final Tick event) {
+            log.add(name + ":-10");
+        }
+
+    }
+
+    public static final class Counter {
+        private int count;
+
+        @Listener
+        public void onTick(final Tick event) {
+            count++;
+        }
+
+    }
+
+    public static final class Unsubscriber {
+        private final EventBus bus;
+        private final Object target;
+
+        public Unsubscriber(final EventBus bus, final Object target) {
+            this.bus = bus;
+            this.target = target;
+        }
+
+        @Listener(priority = 1)
+        public void onTick(final Tick event) {
+            bus.unsubscribe(target);
+        }
+
+    }
+
+    @Test
+    void callsListenersByPriorityNewestFirstAmongEqualOnes() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Named(log, "a"));
+        bus.subscribe(new Named(log, "b"));
+        bus.post(new Tick());
+        assertEquals(List.of("b:10", "a:10", "b:0", "a:0", "b:-10", "a:-10"), log);
+    }
+
+    @Test
+    void callsEverySubscriberOncePerPost() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final List<Counter> counters = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Counter counter = new Counter();
+            counters.add(counter);
+            bus.subscribe(counter);
+        }
+
+        bus.post(new Tick());
+        bus.post(new Tick());
+        for (final Counter counter : counters) {
+            assertEquals(2, counter.count);
+        }
+    }
+
+    @Test
+    void postWalksTheListenersSubscribedWhenItStarted() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final Counter counter = new Counter();
+        bus.subscribe(new Unsubscriber(bus, counter));
+        bus.subscribe(counter);
+        bus.post(new Tick());
+        assertEquals(1, counter.count);
+
+        bus.post(new Tick());
+        assertEquals(1, counter.count);
+    }
+
+    @Test
+    void ignoresNullAndEventsWithoutListeners() {
+        final EventBus bus = RokitEventBus.builder().build();
+        assertDoesNotThrow(() -> {
+            bus.post(null);
+            bus.post(new Object());
+        });
+    }
+
+}
@@ -0,0 +1,111 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DrainTest {
+    public record Move(int id) {}
+
+    public record Chat(String text) {}
+
+    public static final class Recorder {
+        private final List<Object> log = new ArrayList<>();
+        private EventBus bus;
+        private int failOn = -1;
+
+        @Listener
+        public void onMove(final Move event) {
+            if (event.id() == failOn) {
+                throw new IllegalStateException("move " + failOn);
+            }
+
+            log.add(event);
+        }
+
+        @Listener
+        public void onChat(final Chat event) {
+            log.add(event);
+            if (bus != null) {
+                log.add(bus.drain(10));
+            }
+        }
+
+    }
+
+    @Test
+    void dispatchesQueuedEventsInOrder() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final Recorder recorder = new Recorder();
+        bus.subscribe(recorder);
+        bus.enqueue(new Move(1));
+        bus.enqueue(new Move(2));
+        bus.enqueue(new Chat("hi"));
+        bus.enqueue(new Move(3));
+        assertTrue(recorder.log.isEmpty());
+
+        assertEquals(4, bus.drain(100));
+        assertEquals(List.of(new Move(1), new Move(2), new Chat("hi"), new Move(3)), recorder.log);
+        assertEquals(0, bus.drain(100));
+    }
+
+    @Test
+    void drainsAtMostTheGivenNumberOfEvents() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final Recorder recorder = new Recorder();
+        bus.subscribe(recorder);
+        for (int i = 0; i < 5; i++) {
+            bus.enqueue(new Move(i));
+        }
+
+        assertEquals(2, bus.drain(2));
+        assertEquals(List.of(new Move(0), new Move(1)), recorder.log);
+        assertEquals(3, bus.drain(10));
+        assertEquals(5, recorder.log.size());
+    }
+
+    @Test
+    void drainCalledByAListenerReturnsZero() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final Recorder recorder = new Recorder();
+        recorder.bus = bus;
+        bus.subscribe(recorder);
+        bus.enqueue(new Chat("a"));
+        bus.enqueue(new Move(1));
+        assertEquals(2, bus.drain(10));
+        assertEquals(List.of(new Chat("a"), 0, new Move(1)), recorder.log);
+    }
+
+    @Test
+    void eventsAfterAFailedOneAreDispatchedByTheNextDrain() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final Recorder recorder = new Recorder();
+        recorder.failOn = 2;
+        bus.subscribe(recorder);
+        for (int i = 1; i <= 4; i++) {
+            bus.enqueue(new Move(i));
+        }
+
+        bus.enqueue(new Chat("after"));
+        final IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> bus.drain(10));
+        assertEquals("move 2", thrown.getMessage());
+        assertEquals(List.of(new Move(1)), recorder.log);
+
+        recorder.log.clear();
+        assertEquals(3, bus.drain(10));
+        assertEquals(List.of(new Move(3), new Move(4), new Chat("after")), recorder.log);
+    }
+
+    @Test
+    void rejectsEventsOfAFullQueue() {
+        final EventBus bus = RokitEventBus.builder().withQueue(2, OverflowPolicy.REJECT).build();
+        assertTrue(bus.enqueue(new Move(1)));
+        assertTrue(bus.enqueue(new Move(2)));
+        assertFalse(bus.enqueue(new Move(3)));
+        assertFalse(bus.enqueue(null));
+    }
+
+}
@@ -0,0 +1,95 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.generated.EventIds;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventIdsTest {
+    public static final class Jump {}
+
+    @EventId(900)
+    public static final class Land {}
+
+    public static final class Box<T> {
+        private final T payload;
+
+        public Box(final T payload) {
+            this.payload = payload;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+    }
+
+    public static final class Player {
+        private final List<String> log;
+
+        public Player(final List<String> log) {
+            this.log = log;
+        }
+
+        @Listener
+        public void onJump(final Jump event) {
+            log.add("jump");
+        }
+
+        @Listener
+        public void onLand(final Land event) {
+            log.add("land");
+        }
+
+        @Listener
+        public void onStringBox(final Box<String> event) {
+            log.add("string " + event.getPayload().length());
+        }
+
+        @Listener
+        public void onIntegerBox(final Box<Integer> event) {
+            log.add("integer " + (event.getPayload() + 1));
+        }
+
+    }
+
+    @Test
+    void dispatchesById() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Player(log));
+        bus.post(new Jump(), EventIds.JUMP);
+        bus.post(new Land(), EventIds.LAND);
+        assertEquals(List.of("jump", "land"), log);
+    }
+
+    @Test
+    void keepsPinnedIds() {
+        assertEquals(900, EventIds.LAND);
+    }
+
+    @Test
+    void idsThatDoNotMatchTheEventFallBackToItsType() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Player(log));
+        bus.post(new Land(), EventIds.JUMP);
+        bus.post(new Jump(), -1);
+        bus.post(new Jump(), Integer.MAX_VALUE);
+        assertEquals(List.of("land", "jump", "jump"), log);
+    }
+
+    @Test
+    void idsOfGenericEventsAreMatchedByPayload() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Player(log));
+        bus.post(new Box<>("hello"), EventIds.BOX_INTEGER);
+        bus.post(new Box<>(1), EventIds.BOX_STRING);
+        assertEquals(List.of("string 5", "integer 2"), log);
+    }
+
+}
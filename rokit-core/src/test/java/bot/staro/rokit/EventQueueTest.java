@@ -0,0 +1,116 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventQueueTest {
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(2, new EventQueue(1, OverflowPolicy.REJECT).capacity());
+        assertEquals(8, new EventQueue(5, OverflowPolicy.REJECT).capacity());
+        assertEquals(8, new EventQueue(8, OverflowPolicy.REJECT).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new EventQueue(0, OverflowPolicy.REJECT));
+    }
+
+    @Test
+    void pollsInTheOrderOfOffers() {
+        final EventQueue queue = new EventQueue(4, OverflowPolicy.REJECT);
+        assertTrue(queue.isEmpty());
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(queue.enqueue(round * 10 + i));
+            }
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals(round * 10 + i, queue.poll());
+            }
+        }
+
+        assertNull(queue.poll());
+        assertEquals(12L, queue.enqueued());
+        assertEquals(12L, queue.dequeued());
+    }
+
+    @Test
+    void rejectKeepsTheQueuedEvents() {
+        final EventQueue queue = new EventQueue(2, OverflowPolicy.REJECT);
+        assertTrue(queue.enqueue("a"));
+        assertTrue(queue.enqueue("b"));
+        assertFalse(queue.enqueue("c"));
+        assertEquals("a", queue.poll());
+        assertEquals("b", queue.poll());
+    }
+
+    @Test
+    void dropOldestMakesRoomForTheNewEvent() {
+        final EventQueue queue = new EventQueue(2, OverflowPolicy.DROP_OLDEST);
+        assertTrue(queue.enqueue("a"));
+        assertTrue(queue.enqueue("b"));
+        assertTrue(queue.enqueue("c"));
+        assertEquals("b", queue.poll());
+        assertEquals("c", queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void blockWaitsForTheConsumer() throws InterruptedException {
+        final EventQueue queue = new EventQueue(2, OverflowPolicy.BLOCK);
+        queue.enqueue("a");
+        queue.enqueue("b");
+        final Thread producer = Thread.ofPlatform().start(() -> queue.enqueue("c"));
+        producer.join(50);
+        assertTrue(producer.isAlive());
+
+        assertEquals("a", queue.poll());
+        producer.join();
+        assertEquals("b", queue.poll());
+        assertEquals("c", queue.poll());
+    }
+
+    @Test
+    void deliversEveryEventOfConcurrentProducersOnce() throws InterruptedException {
+        final EventQueue queue = new EventQueue(64, OverflowPolicy.BLOCK);
+        final int producers = 4;
+        final int perProducer = 10_000;
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.enqueue(producer * perProducer + i);
+                }
+            }));
+        }
+
+        final Set<Object> seen = new HashSet<>();
+        final int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        while (seen.size() < producers * perProducer) {
+            final Object event = queue.poll();
+            if (event == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            assertTrue(seen.add(event));
+            // Events of one producer keep their order.
+            final int value = (Integer) event;
+            assertTrue(value % perProducer > last[value / perProducer]);
+            last[value / perProducer] = value % perProducer;
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(queue.poll());
+    }
+
+}
@@ -0,0 +1,132 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.gen.Registry;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InheritanceTest {
+    public static final class Ping {}
+
+    public static final class Pong {}
+
+    public static class Base {
+        public final List<String> log;
+
+        public Base(final List<String> log) {
+            this.log = log;
+        }
+
+        @Listener(priority = 2)
+        public void onPing(final Ping event) {
+            log.add("base");
+        }
+
+        @Listener
+        public void onPong(final Pong event) {
+            log.add("pong");
+        }
+
+    }
+
+    public static class Child extends Base {
+        public Child(final List<String> log) {
+            super(log);
+        }
+
+        @Override
+        @Listener(priority = 2)
+        public void onPing(final Ping event) {
+            log.add("child");
+        }
+
+        @Listener(priority = 1)
+        public void onPingLater(final Ping event) {
+            log.add("later");
+        }
+
+    }
+
+    // Not a listener class itself, it is registered through the listener classes it extends.
+    public static class Plain extends Child {
+        public Plain(final List<String> log) {
+            super(log);
+        }
+
+    }
+
+    @Test
+    void registersListenersOfEverySuperclass() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Plain(log));
+        bus.post(new Ping());
+        bus.post(new Pong());
+        assertEquals(List.of("child", "later", "pong"), log);
+    }
+
+    @Test
+    void overridingListenerReplacesInheritedOne() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Child child = new Child(log);
+        bus.subscribe(child);
+        bus.post(new Ping());
+        assertEquals(List.of("child", "later"), log);
+
+        log.clear();
+        bus.unsubscribe(child);
+        bus.post(new Ping());
+        bus.post(new Pong());
+        assertEquals(List.of(), log);
+    }
+
+    @Test
+    void baseClassKeepsItsOwnListener() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Base(log));
+        bus.post(new Ping());
+        assertEquals(List.of("base"), log);
+    }
+
+    @Test
+    void overrideCompiledIntoAnotherRegistryReplacesInheritedOne() throws Exception {
+        try (URLClassLoader loader = AddonCompiler.compile("addon.generated", Map.of("addon.AddonListener", """
+                package addon;
+
+                import bot.staro.rokit.InheritanceTest;
+                import bot.staro.rokit.Listener;
+
+                public class AddonListener extends InheritanceTest.Base {
+                    public AddonListener(final java.util.List<String> log) {
+                        super(log);
+                    }
+
+                    @Override
+                    @Listener(priority = 2)
+                    public void onPing(final InheritanceTest.Ping event) {
+                        log.add("addon");
+                    }
+                }
+                """))) {
+            final Builder builder = RokitEventBus.builder();
+            for (final Registry registry : AddonCompiler.registries(loader)) {
+                builder.withRegistry(registry);
+            }
+
+            final List<String> log = new ArrayList<>();
+            final EventBus bus = builder.build();
+            bus.subscribe(loader.loadClass("addon.AddonListener").getConstructor(List.class).newInstance(log));
+            bus.post(new Ping());
+            bus.post(new Pong());
+            assertEquals(List.of("addon", "pong"), log);
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyedRoutingTest {
+    static final int CHAT = 1;
+    static final int MOVE = 2;
+    static final int LOOK = 3;
+
+    public static final class Packet implements Keyed, Cancellable {
+        private final int id;
+        private boolean cancelled;
+
+        public Packet(final int id) {
+            this.id = id;
+        }
+
+        public int id() {
+            return id;
+        }
+
+        @Override
+        public int key() {
+            return id;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(final boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+    }
+
+    public static final class Handler {
+        private final List<String> log;
+
+        public Handler(final List<String> log) {
+            this.log = log;
+        }
+
+        @Listener(key = CHAT, priority = 5)
+        public void onChat(final Packet packet) {
+            log.add("chat");
+        }
+
+        @Listener(key = {MOVE, LOOK})
+        public void onMovement(final Packet packet) {
+            log.add("movement " + packet.id());
+        }
+
+        @Listener(priority = 1)
+        public void onAny(final Packet packet) {
+            log.add("any " + packet.id());
+        }
+
+        @Listener(key = MOVE, priority = 10)
+        public void cancelMove(final Packet packet) {
+            if (packet.id() == MOVE) {
+                log.add("cancel");
+                packet.cancel();
+            }
+        }
+
+        @Listener(key = MOVE, priority = -1, receiveCancelled = true)
+        public void afterCancel(final Packet packet) {
+            log.add("after cancel");
+        }
+
+    }
+
+    @Test
+    void routesEventsToTheListenersOfTheirKey() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Handler(log));
+        bus.post(new Packet(CHAT));
+        bus.post(new Packet(LOOK));
+        assertEquals(List.of("chat", "any 1", "any 3", "movement 3"), log);
+    }
+
+    @Test
+    void eventsWithoutKeyedListenersOnlyReachTheUnkeyedOnes() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Handler(log));
+        bus.post(new Packet(42));
+        assertEquals(List.of("any 42"), log);
+    }
+
+    @Test
+    void cancellingSkipsTheLowerListenersOfTheKey() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Handler(log));
+        bus.post(new Packet(MOVE));
+        assertEquals(List.of("cancel", "after cancel"), log);
+    }
+
+    @Test
+    void postAllRoutesEveryEventByItsKey() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new Handler(log));
+        bus.postAll(new Packet[] {new Packet(CHAT), new Packet(LOOK), new Packet(CHAT)});
+        assertEquals(List.of("chat", "any 1", "any 3", "movement 3", "chat", "any 1"), log);
+    }
+
+}
@@ -0,0 +1,86 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedEventBusTest {
+    public record Packet(int connection, int sequence) {}
+
+    public static final class Handler {
+        private final List<Packet> received = new ArrayList<>();
+        private final Map<Thread, Boolean> threads = new ConcurrentHashMap<>();
+
+        @Listener
+        public void onPacket(final Packet packet) {
+            threads.put(Thread.currentThread(), true);
+            received.add(packet);
+        }
+
+    }
+
+    @Test
+    void keepsTheOrderOfEventsWithEqualKeys() throws InterruptedException {
+        try (PartitionedEventBus bus = RokitEventBus.builder().buildPartitioned(4, event -> ((Packet) event).connection())) {
+            final List<Handler> handlers = bus.subscribePerLane(lane -> new Handler());
+            for (int sequence = 0; sequence < 1000; sequence++) {
+                for (int connection = 0; connection < 16; connection++) {
+                    assertTrue(bus.post(new Packet(connection, sequence)));
+                }
+            }
+
+            bus.flush();
+            int total = 0;
+            for (int lane = 0; lane < handlers.size(); lane++) {
+                final Handler handler = handlers.get(lane);
+                final int[] next = new int[16];
+                for (final Packet packet : handler.received) {
+                    assertEquals(lane, bus.lane(packet.connection()));
+                    assertEquals(next[packet.connection()]++, packet.sequence());
+                }
+
+                // Each per-lane subscriber only ever runs on the thread of its lane.
+                assertTrue(handler.threads.size() <= 1);
+                total += handler.received.size();
+            }
+
+            assertEquals(16_000, total);
+        }
+    }
+
+    @Test
+    void spreadsKeysOverTheLanes() {
+        try (PartitionedEventBus bus = RokitEventBus.builder().buildPartitioned(4, event -> 0)) {
+            assertEquals(4, bus.lanes());
+            final boolean[] used = new boolean[4];
+            for (int key = 0; key < 64; key++) {
+                final int lane = bus.lane(key);
+                assertTrue(lane >= 0 && lane < 4);
+                used[lane] = true;
+            }
+
+            for (final boolean lane : used) {
+                assertTrue(lane);
+            }
+        }
+    }
+
+    @Test
+    void rejectsPostsAfterClose() {
+        final PartitionedEventBus bus = RokitEventBus.builder().buildPartitioned(2, event -> 0);
+        bus.close();
+        assertThrows(IllegalStateException.class, () -> bus.post(new Packet(0, 0)));
+        assertFalse(bus.post(null));
+    }
+
+    @Test
+    void needsAtLeastOneLane() {
+        assertThrows(IllegalArgumentException.class, () -> RokitEventBus.builder().buildPartitioned(0, event -> 0));
+    }
+
+}
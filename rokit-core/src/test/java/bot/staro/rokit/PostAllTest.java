@@ -0,0 +1,83 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostAllTest {
+    public record Update(int entity) {}
+
+    public record Spawn(int entity) {}
+
+    public static final class World {
+        private final List<Object> log = new ArrayList<>();
+
+        @Listener(priority = 1)
+        public void onUpdate(final Update event) {
+            if (event.entity() < 0) {
+                throw new IllegalArgumentException("entity " + event.entity());
+            }
+
+            log.add(event);
+        }
+
+        @Listener
+        public void onUpdateLate(final Update event) {
+            log.add("late " + event.entity());
+        }
+
+        @Listener
+        public void onSpawn(final Spawn event) {
+            log.add(event);
+        }
+
+    }
+
+    @Test
+    void dispatchesEveryEventAsIfPostedOnItsOwn() {
+        final Object[] events = {new Update(1), new Update(2), new Spawn(3), null, new Update(4)};
+        final EventBus batched = RokitEventBus.builder().build();
+        final World batchedWorld = new World();
+        batched.subscribe(batchedWorld);
+        batched.postAll(events);
+
+        final EventBus single = RokitEventBus.builder().build();
+        final World singleWorld = new World();
+        single.subscribe(singleWorld);
+        for (final Object event : events) {
+            single.post(event);
+        }
+
+        assertEquals(singleWorld.log, batchedWorld.log);
+        assertEquals(List.of(new Update(1), "late 1", new Update(2), "late 2", new Spawn(3), new Update(4), "late 4"), batchedWorld.log);
+    }
+
+    @Test
+    void postsAList() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final World world = new World();
+        bus.subscribe(world);
+        bus.postAll(Arrays.asList(new Spawn(1), new Spawn(2)));
+        assertEquals(List.of(new Spawn(1), new Spawn(2)), world.log);
+        assertDoesNotThrow(() -> {
+            bus.postAll((Object[]) null);
+            bus.postAll((List<Object>) null);
+        });
+    }
+
+    @Test
+    void rethrowsTheExceptionOfTheListener() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final World world = new World();
+        bus.subscribe(world);
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> bus.postAll(new Object[] {new Update(1), new Update(-2), new Update(3)}));
+        assertEquals("entity -2", thrown.getMessage());
+        assertEquals(List.of(new Update(1), "late 1"), world.log);
+    }
+
+}
@@ -0,0 +1,48 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProviderTest {
+    private static final int KEY = 1;
+
+    @Test
+    void uncachedProviderIsCalledOnEveryRead() {
+        final AtomicInteger calls = new AtomicInteger();
+        final RokitEventBus bus = (RokitEventBus) RokitEventBus.builder().withProvider(KEY, calls::incrementAndGet).build();
+        assertEquals(1, (int) bus.getProvider(KEY));
+        assertEquals(2, (int) bus.getProvider(KEY));
+    }
+
+    @Test
+    void cachedProviderIsCalledOncePerEpoch() {
+        final AtomicInteger calls = new AtomicInteger();
+        final RokitEventBus bus = (RokitEventBus) RokitEventBus.builder().withProvider(KEY, calls::incrementAndGet, true).build();
+        assertEquals(1, (int) bus.getProvider(KEY));
+        assertEquals(1, (int) bus.getProvider(KEY));
+
+        bus.invalidateProviders();
+        assertEquals(2, (int) bus.getProvider(KEY));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void cachedValueIsKeptPerEpoch() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CachedProvider<Integer> provider = new CachedProvider<>(calls::incrementAndGet);
+        assertEquals(1, provider.get(0));
+        assertEquals(1, provider.get(0));
+        assertEquals(2, provider.get(1));
+        assertEquals(3, provider.get(0));
+    }
+
+    @Test
+    void missingProviderResolvesToNull() {
+        final RokitEventBus bus = (RokitEventBus) RokitEventBus.builder().build();
+        assertNull(bus.getProvider(KEY));
+    }
+
+}
@@ -0,0 +1,115 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.gen.Registry;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistryMergeTest {
+    public static final class Chat implements Cancellable {
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(final boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+    }
+
+    public static final class CoreListener {
+        public final List<String> log;
+
+        public CoreListener(final List<String> log) {
+            this.log = log;
+        }
+
+        @Listener(priority = 10)
+        public void first(final Chat event) {
+            log.add("core10");
+        }
+
+        @Listener(priority = -10)
+        public void last(final Chat event) {
+            log.add("core-10");
+        }
+
+    }
+
+    private static final String ADDON = """
+            package addon;
+
+            import bot.staro.rokit.Listener;
+            import bot.staro.rokit.RegistryMergeTest;
+
+            public class AddonListener {
+                private final java.util.List<String> log;
+
+                public AddonListener(final java.util.List<String> log) {
+                    this.log = log;
+                }
+
+                @Listener
+                public void onChat(final RegistryMergeTest.Chat event) {
+                    log.add("addon0");
+                    event.cancel();
+                }
+            }
+            """;
+
+    @Test
+    void findsTheRegistryOfThisModule() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.subscribe(new CoreListener(log));
+        bus.post(new Chat());
+        assertEquals(List.of("core10", "core-10"), log);
+    }
+
+    @Test
+    void mergesListenersOfEveryRegistryInPriorityOrder() throws Exception {
+        try (URLClassLoader loader = AddonCompiler.compile("addon.generated", Map.of("addon.AddonListener", ADDON))) {
+            final Builder builder = RokitEventBus.builder();
+            for (final Registry registry : AddonCompiler.registries(loader)) {
+                builder.withRegistry(registry);
+            }
+
+            final List<String> log = new ArrayList<>();
+            final EventBus bus = builder.build();
+            final Object addon = loader.loadClass("addon.AddonListener").getConstructor(List.class).newInstance(log);
+            bus.subscribe(new CoreListener(log));
+            bus.subscribe(addon);
+            // The addon cancels the event, so the core listener below it is skipped.
+            bus.post(new Chat());
+            assertEquals(List.of("core10", "addon0"), log);
+            assertTrue(bus.isSubscribed(addon));
+
+            log.clear();
+            bus.unsubscribe(addon);
+            bus.post(new Chat());
+            assertEquals(List.of("core10", "core-10"), log);
+        }
+    }
+
+    @Test
+    void addsEveryRegistryOnce() throws Exception {
+        try (URLClassLoader loader = AddonCompiler.compile("addon.generated", Map.of("addon.AddonListener", ADDON))) {
+            final Registry registry = AddonCompiler.registries(loader).getFirst();
+            final List<String> log = new ArrayList<>();
+            final EventBus bus = RokitEventBus.builder().withRegistry(registry).withRegistry(registry).build();
+            bus.subscribe(loader.loadClass("addon.AddonListener").getConstructor(List.class).newInstance(log));
+            bus.post(new Chat());
+            assertEquals(List.of("addon0"), log);
+        }
+    }
+
+}
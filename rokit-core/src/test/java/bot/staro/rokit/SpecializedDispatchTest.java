@@ -0,0 +1,135 @@
+package bot.staro.rokit;
+
+import bot.staro.rokit.gen.Registry;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpecializedDispatchTest {
+    public static final class Step implements Cancellable {
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(final boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+    }
+
+    // More posts than a site needs to link its chain, so the later posts go through the linked chain.
+    private static final int POSTS = 5000;
+
+    private static final String SOURCE = """
+            package addon;
+
+            import bot.staro.rokit.Listener;
+            import bot.staro.rokit.SpecializedDispatchTest;
+
+            public class Stepper {
+                private final java.util.List<String> log;
+                private final String name;
+                private final boolean cancel;
+
+                public Stepper(final java.util.List<String> log, final String name, final boolean cancel) {
+                    this.log = log;
+                    this.name = name;
+                    this.cancel = cancel;
+                }
+
+                @Listener
+                public void onStep(final SpecializedDispatchTest.Step event) {
+                    log.add(name);
+                    if (cancel) {
+                        event.cancel();
+                    }
+                }
+            }
+            """;
+
+    @Test
+    void followsSubscriberChangesOfALinkedSite() throws Exception {
+        try (URLClassLoader loader = AddonCompiler.compile("addon.generated", Map.of("addon.Stepper", SOURCE), "-Arokit.specialize=true")) {
+            final EventBus bus = bus(loader);
+            final List<String> log = new ArrayList<>();
+            final Object a = stepper(loader, log, "a", false);
+            bus.subscribe(a);
+            post(bus, POSTS);
+            assertEquals(POSTS, log.size());
+
+            log.clear();
+            bus.subscribe(stepper(loader, log, "b", false));
+            post(bus, 1);
+            assertEquals(List.of("b", "a"), log);
+
+            log.clear();
+            post(bus, POSTS);
+            bus.unsubscribe(a);
+            post(bus, 1);
+            assertEquals(2 * POSTS + 1, log.size());
+            assertEquals("b", log.getLast());
+        }
+    }
+
+    @Test
+    void linkedChainStopsAtACancelledEvent() throws Exception {
+        try (URLClassLoader loader = AddonCompiler.compile("addon.generated", Map.of("addon.Stepper", SOURCE), "-Arokit.specialize=true")) {
+            final EventBus bus = bus(loader);
+            final List<String> log = new ArrayList<>();
+            bus.subscribe(stepper(loader, log, "a", false));
+            bus.subscribe(stepper(loader, log, "b", true));
+            post(bus, POSTS);
+            for (final String name : log) {
+                assertEquals("b", name);
+            }
+
+            assertEquals(POSTS, log.size());
+        }
+    }
+
+    @Test
+    void specializedSitesOfSeveralBusesStayApart() throws Exception {
+        try (URLClassLoader loader = AddonCompiler.compile("addon.generated", Map.of("addon.Stepper", SOURCE), "-Arokit.specialize=true")) {
+            final EventBus first = bus(loader);
+            final EventBus second = bus(loader);
+            final List<String> log = new ArrayList<>();
+            first.subscribe(stepper(loader, log, "first", false));
+            second.subscribe(stepper(loader, log, "second", false));
+            for (int i = 0; i < POSTS; i++) {
+                first.post(new Step());
+                second.post(new Step());
+                assertEquals(List.of("first", "second"), log);
+                log.clear();
+            }
+        }
+    }
+
+    private static EventBus bus(final ClassLoader loader) {
+        final Builder builder = RokitEventBus.builder();
+        for (final Registry registry : AddonCompiler.registries(loader)) {
+            builder.withRegistry(registry);
+        }
+
+        return builder.build();
+    }
+
+    private static Object stepper(final ClassLoader loader, final List<String> log, final String name, final boolean cancel) throws ReflectiveOperationException {
+        return loader.loadClass("addon.Stepper").getConstructor(List.class, String.class, boolean.class).newInstance(log, name, cancel);
+    }
+
+    private static void post(final EventBus bus, final int times) {
+        for (int i = 0; i < times; i++) {
+            bus.post(new Step());
+        }
+    }
+
+}
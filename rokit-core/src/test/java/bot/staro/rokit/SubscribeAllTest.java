@@ -0,0 +1,104 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubscribeAllTest {
+    public static final class Tick {}
+
+    public static final class Module {
+        private final List<String> log;
+        private final String name;
+
+        public Module(final List<String> log, final String name) {
+            this.log = log;
+            this.name = name;
+        }
+
+        @Listener
+        public void onTick(final Tick event) {
+            log.add(name);
+        }
+
+        @Listener(priority = 1)
+        public void onTickEarly(final Tick event) {
+            log.add(name + "!");
+        }
+
+    }
+
+    @Test
+    void subscribesInTheOrderOfSingleSubscribes() {
+        final List<String> batched = new ArrayList<>();
+        final EventBus batchBus = RokitEventBus.builder().build();
+        batchBus.subscribeAll(List.of(new Module(batched, "a"), new Module(batched, "b"), new Module(batched, "c")));
+        batchBus.post(new Tick());
+
+        final List<String> single = new ArrayList<>();
+        final EventBus singleBus = RokitEventBus.builder().build();
+        singleBus.subscribe(new Module(single, "a"));
+        singleBus.subscribe(new Module(single, "b"));
+        singleBus.subscribe(new Module(single, "c"));
+        singleBus.post(new Tick());
+
+        assertEquals(single, batched);
+    }
+
+    @Test
+    void skipsNullsAndSubscribersThatAreAlreadySubscribed() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Module module = new Module(log, "a");
+        bus.subscribe(module);
+        bus.subscribeAll(Arrays.asList(module, null, module));
+        bus.post(new Tick());
+        assertEquals(List.of("a!", "a"), log);
+    }
+
+    @Test
+    void unsubscribesEveryGivenSubscriber() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Module a = new Module(log, "a");
+        final Module b = new Module(log, "b");
+        final Module c = new Module(log, "c");
+        bus.subscribeAll(List.of(a, b, c));
+        bus.unsubscribeAll(List.of(a, c));
+        bus.post(new Tick());
+        assertEquals(List.of("b!", "b"), log);
+        assertFalse(bus.isSubscribed(a));
+        assertTrue(bus.isSubscribed(b));
+    }
+
+    @Test
+    void batchSubscribersCanBeSwitchedOff() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Module a = new Module(log, "a");
+        final Module b = new Module(log, "b");
+        bus.subscribeAll(List.of(a, b));
+        assertTrue(bus.setEnabled(a, false));
+        bus.post(new Tick());
+        assertEquals(List.of("b!", "b"), log);
+    }
+
+    @Test
+    void subscribesManySubscribersAtOnce() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final List<Module> modules = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            modules.add(new Module(log, "m"));
+        }
+
+        bus.subscribeAll(modules);
+        bus.post(new Tick());
+        assertEquals(20_000, log.size());
+    }
+
+}
@@ -0,0 +1,88 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubscribeTest {
+    public static final class Tick {}
+
+    public static final class Tock {}
+
+    public static final class Clock {
+        private final List<String> log;
+
+        public Clock(final List<String> log) {
+            this.log = log;
+        }
+
+        @Listener
+        public void onTick(final Tick event) {
+            log.add("tick");
+        }
+
+        @Listener
+        public void onTock(final Tock event) {
+            log.add("tock");
+        }
+
+    }
+
+    @Test
+    void subscribingTwiceRegistersOnce() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Clock clock = new Clock(log);
+        bus.subscribe(clock);
+        bus.subscribe(clock);
+        bus.post(new Tick());
+        assertEquals(List.of("tick"), log);
+    }
+
+    @Test
+    void unsubscribeRemovesEveryListenerMethod() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Clock clock = new Clock(log);
+        bus.subscribe(clock);
+        assertTrue(bus.isSubscribed(clock));
+
+        bus.unsubscribe(clock);
+        assertFalse(bus.isSubscribed(clock));
+        bus.post(new Tick());
+        bus.post(new Tock());
+        assertEquals(List.of(), log);
+    }
+
+    @Test
+    void subscriberCanBeSubscribedAgainAfterUnsubscribing() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Clock clock = new Clock(log);
+        for (int i = 0; i < 3; i++) {
+            bus.subscribe(clock);
+            bus.unsubscribe(clock);
+        }
+
+        bus.subscribe(clock);
+        bus.post(new Tock());
+        assertEquals(List.of("tock"), log);
+    }
+
+    @Test
+    void objectsWithoutListenersAreNotSubscribed() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final Object plain = new Object();
+        bus.subscribe(plain);
+        assertFalse(bus.isSubscribed(plain));
+        assertDoesNotThrow(() -> {
+            bus.unsubscribe(plain);
+            bus.subscribe(null);
+            bus.unsubscribe(null);
+        });
+    }
+
+}
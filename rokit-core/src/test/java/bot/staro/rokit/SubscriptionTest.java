@@ -0,0 +1,104 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubscriptionTest {
+    public static final class Click {}
+
+    public static final class Button {
+        private final List<String> log;
+
+        public Button(final List<String> log) {
+            this.log = log;
+        }
+
+        @Listener
+        public void onClick(final Click event) {
+            log.add("click");
+        }
+
+    }
+
+    @Test
+    void closingRemovesTheListenersOfTheSubscription() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Button button = new Button(log);
+        try (Subscription subscription = bus.subscribe(button)) {
+            assertNotNull(subscription);
+            bus.post(new Click());
+        }
+
+        assertFalse(bus.isSubscribed(button));
+        bus.post(new Click());
+        assertEquals(List.of("click"), log);
+    }
+
+    @Test
+    void closingTwiceOrAfterUnsubscribeDoesNothing() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Button button = new Button(log);
+        final Subscription subscription = bus.subscribe(button);
+        bus.unsubscribe(button);
+        subscription.close();
+        subscription.close();
+        assertFalse(bus.isSubscribed(button));
+    }
+
+    @Test
+    void closingAnOldSubscriptionKeepsANewOne() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Button button = new Button(log);
+        final Subscription old = bus.subscribe(button);
+        bus.unsubscribe(button);
+        bus.subscribe(button);
+        old.close();
+
+        assertTrue(bus.isSubscribed(button));
+        bus.post(new Click());
+        assertEquals(List.of("click"), log);
+    }
+
+    @Test
+    void subscribingTwiceReturnsAnEmptySubscription() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Button button = new Button(log);
+        bus.subscribe(button);
+        bus.subscribe(button).close();
+        assertTrue(bus.isSubscribed(button));
+    }
+
+    @Test
+    void scopedSubscriberOnlyReceivesEventsOfTheScope() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Button button = new Button(log);
+        bus.subscribeScoped(button, () -> {
+            assertTrue(bus.isSubscribed(button));
+            bus.post(new Click());
+        });
+
+        bus.post(new Click());
+        assertEquals(List.of("click"), log);
+        assertFalse(bus.isSubscribed(button));
+    }
+
+    @Test
+    void scopedSubscriberIsRemovedWhenTheScopeThrows() {
+        final EventBus bus = RokitEventBus.builder().build();
+        final Button button = new Button(new ArrayList<>());
+        assertThrows(IllegalStateException.class, () -> bus.subscribeScoped(button, () -> {
+            throw new IllegalStateException();
+        }));
+        assertFalse(bus.isSubscribed(button));
+    }
+
+}
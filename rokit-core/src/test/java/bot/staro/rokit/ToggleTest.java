@@ -0,0 +1,102 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToggleTest {
+    public static final class Tick {}
+
+    public static final class Module {
+        private final List<String> log;
+        private final String name;
+
+        public Module(final List<String> log, final String name) {
+            this.log = log;
+            this.name = name;
+        }
+
+        @Listener
+        public void onTick(final Tick event) {
+            log.add(name);
+        }
+
+    }
+
+    @Test
+    void disabledSubscriberKeepsItsPlace() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Module a = new Module(log, "a");
+        bus.subscribe(a);
+        bus.subscribe(new Module(log, "b"));
+
+        assertTrue(bus.setEnabled(a, false));
+        bus.post(new Tick());
+        assertEquals(List.of("b"), log);
+        assertTrue(bus.hasListeners(Tick.class));
+
+        log.clear();
+        assertTrue(bus.setEnabled(a, true));
+        bus.post(new Tick());
+        assertEquals(List.of("b", "a"), log);
+    }
+
+    @Test
+    void unknownSubscriberCannotBeToggled() {
+        final EventBus bus = RokitEventBus.builder().build();
+        assertFalse(bus.setEnabled(new Module(new ArrayList<>(), "a"), false));
+        assertFalse(bus.setEnabled(null, false));
+    }
+
+    @Test
+    void subscriptionTogglesItsListeners() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Subscription subscription = bus.subscribe(new Module(log, "a"));
+        subscription.setEnabled(false);
+        bus.post(new Tick());
+        subscription.setEnabled(true);
+        bus.post(new Tick());
+        assertEquals(List.of("a"), log);
+    }
+
+    @Test
+    void tagSwitchesEveryMember() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Module a = new Module(log, "a");
+        bus.subscribe(a, "hud");
+        bus.subscribe(new Module(log, "b"), "hud");
+        bus.subscribe(new Module(log, "c"));
+
+        bus.setTagEnabled("hud", false);
+        bus.post(new Tick());
+        assertEquals(List.of("c"), log);
+
+        // A member receives events only while both its tag and itself are enabled.
+        log.clear();
+        bus.setEnabled(a, false);
+        bus.setTagEnabled("hud", true);
+        bus.post(new Tick());
+        assertEquals(List.of("c", "b"), log);
+    }
+
+    @Test
+    void memberJoiningADisabledTagStartsDisabled() {
+        final List<String> log = new ArrayList<>();
+        final EventBus bus = RokitEventBus.builder().build();
+        bus.setTagEnabled("hud", false);
+        bus.subscribe(new Module(log, "a"), "hud");
+        bus.post(new Tick());
+        assertEquals(List.of(), log);
+
+        bus.setTagEnabled("hud", true);
+        bus.post(new Tick());
+        assertEquals(List.of("a"), log);
+    }
+
+}
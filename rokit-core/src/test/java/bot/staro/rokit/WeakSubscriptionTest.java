@@ -0,0 +1,77 @@
+package bot.staro.rokit;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeakSubscriptionTest {
+    public static final class Render {}
+
+    public static final class Overlay {
+        private final AtomicInteger calls;
+
+        public Overlay(final AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Listener
+        public void onRender(final Render event) {
+            calls.incrementAndGet();
+        }
+
+    }
+
+    @Test
+    void reachableSubscriberReceivesEvents() {
+        final AtomicInteger calls = new AtomicInteger();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Overlay overlay = new Overlay(calls);
+        bus.subscribeWeak(overlay);
+        assertTrue(bus.isSubscribed(overlay));
+        bus.post(new Render());
+        assertEquals(1, calls.get());
+
+        bus.unsubscribe(overlay);
+        assertFalse(bus.isSubscribed(overlay));
+        bus.post(new Render());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void subscriptionOfAWeakSubscriberCanBeClosed() {
+        final AtomicInteger calls = new AtomicInteger();
+        final EventBus bus = RokitEventBus.builder().build();
+        final Overlay overlay = new Overlay(calls);
+        bus.subscribeWeak(overlay).close();
+        bus.post(new Render());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void collectedSubscriberIsSkippedAndExpunged() throws InterruptedException {
+        final AtomicInteger calls = new AtomicInteger();
+        final EventBus bus = RokitEventBus.builder().build();
+        Overlay overlay = new Overlay(calls);
+        final WeakReference<Overlay> reference = new WeakReference<>(overlay);
+        bus.subscribeWeak(overlay);
+        assertTrue(bus.hasListeners(Render.class));
+
+        overlay = null;
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get(), "the subscriber was not collected");
+        bus.post(new Render());
+        assertEquals(0, calls.get());
+
+        // A drain takes the invokers of collected subscribers out of their buckets.
+        bus.drain(1);
+        assertFalse(bus.hasListeners(Render.class));
+    }
+
+}
@@ -0,0 +1,45 @@
+package bot.staro.rokit.gen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BucketBatchTest {
+    private record Invoker(String name) {}
+
+    @Test
+    void publishesStagedChangesAtOnceInTheOrderOfSingleAdds() {
+        final Bucket<Invoker> batched = new Bucket<>(new Invoker[0]);
+        final Bucket<Invoker> single = new Bucket<>(new Invoker[0]);
+        final Invoker[] invokers = {new Invoker("a"), new Invoker("b"), new Invoker("c"), new Invoker("d")};
+        final int[] priorities = {0, 3, 0, -2};
+        final BucketBatch batch = new BucketBatch();
+        for (int i = 0; i < invokers.length; i++) {
+            batch.add(batched, invokers[i], priorities[i], i);
+            single.add(invokers[i], priorities[i], i);
+        }
+
+        assertNull(batched.snapshot());
+        batch.publish();
+        assertArrayEquals(single.snapshot().invokers, batched.snapshot().invokers);
+        assertArrayEquals(single.snapshot().priorities, batched.snapshot().priorities);
+    }
+
+    @Test
+    void removalAlsoDropsInvokersAddedByTheSameBatch() {
+        final Bucket<Invoker> bucket = new Bucket<>(new Invoker[0]);
+        final Invoker kept = new Invoker("kept");
+        final Invoker old = new Invoker("old");
+        final Invoker fresh = new Invoker("fresh");
+        bucket.add(old, 0, 1L);
+
+        final BucketBatch batch = new BucketBatch();
+        batch.add(bucket, kept, 0, 2L);
+        batch.add(bucket, fresh, 0, 3L);
+        batch.remove(bucket, fresh);
+        batch.remove(bucket, old);
+        batch.publish();
+        assertArrayEquals(new Invoker[] {kept}, bucket.snapshot().invokers);
+    }
+
+}
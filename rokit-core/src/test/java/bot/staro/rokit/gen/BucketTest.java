@@ -0,0 +1,108 @@
+package bot.staro.rokit.gen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BucketTest {
+    private record Invoker(String name) {}
+
+    @Test
+    void keepsInvokersSortedByDescendingPriorityNewestFirst() {
+        final Bucket<Invoker> bucket = new Bucket<>(new Invoker[0]);
+        final Invoker low = new Invoker("low");
+        final Invoker high = new Invoker("high");
+        final Invoker first = new Invoker("first");
+        final Invoker second = new Invoker("second");
+        bucket.add(low, -1, 1L);
+        bucket.add(high, 5, 2L);
+        bucket.add(first, 0, 3L);
+        bucket.add(second, 0, 4L);
+
+        final Bucket.Snapshot<Invoker> snapshot = bucket.snapshot();
+        assertArrayEquals(new Invoker[] {high, second, first, low}, snapshot.invokers);
+        assertArrayEquals(new int[] {5, 0, 0, -1}, snapshot.priorities);
+        assertEquals(List.of(2L, 4L, 3L, 1L), List.of(snapshot.ids[0], snapshot.ids[1], snapshot.ids[2], snapshot.ids[3]));
+    }
+
+    @Test
+    void removesOnlyTheInvokerOfTheGivenPriority() {
+        final Bucket<Invoker> bucket = new Bucket<>(new Invoker[0]);
+        final Invoker a = new Invoker("a");
+        final Invoker b = new Invoker("b");
+        bucket.add(a, 1, 1L);
+        bucket.add(b, 2, 2L);
+
+        assertFalse(bucket.remove(a, 2));
+        assertTrue(bucket.remove(a, 1));
+        assertFalse(bucket.remove(a, 1));
+        assertArrayEquals(new Invoker[] {b}, bucket.snapshot().invokers);
+
+        assertTrue(bucket.remove(b, 2));
+        assertNull(bucket.snapshot());
+    }
+
+    @Test
+    void replaceKeepsPlaceAndId() {
+        final Bucket<Invoker> bucket = new Bucket<>(new Invoker[0]);
+        final Invoker a = new Invoker("a");
+        final Invoker b = new Invoker("b");
+        final Invoker gated = new Invoker("gated");
+        bucket.add(a, 0, 1L);
+        bucket.add(b, 0, 2L);
+
+        assertTrue(bucket.replace(a, gated, 0));
+        assertFalse(bucket.replace(a, gated, 0));
+        final Bucket.Snapshot<Invoker> snapshot = bucket.snapshot();
+        assertArrayEquals(new Invoker[] {b, gated}, snapshot.invokers);
+        assertEquals(1L, snapshot.ids[1]);
+    }
+
+    @Test
+    void publishesConsistentSnapshotsUnderConcurrentChanges() throws InterruptedException {
+        final Bucket<Invoker> bucket = new Bucket<>(new Invoker[0]);
+        final int threads = 4;
+        final int perThread = 500;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            writers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < perThread; i++) {
+                    final Invoker invoker = new Invoker(thread + ":" + i);
+                    bucket.add(invoker, i % 7, i % 7);
+                    if (i % 2 == 0) {
+                        bucket.remove(invoker, i % 7);
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        for (final Thread writer : writers) {
+            writer.join();
+        }
+
+        final Bucket.Snapshot<Invoker> snapshot = bucket.snapshot();
+        assertEquals(threads * perThread / 2, snapshot.invokers.length);
+        for (int i = 0; i < snapshot.invokers.length; i++) {
+            // Every invoker was added with its priority as id, so a torn snapshot shows as a mismatch.
+            assertEquals((long) snapshot.priorities[i], snapshot.ids[i]);
+            assertEquals(Integer.parseInt(snapshot.invokers[i].name().substring(snapshot.invokers[i].name().indexOf(':') + 1)) % 7, snapshot.priorities[i]);
+            if (i > 0) {
+                assertTrue(snapshot.priorities[i - 1] >= snapshot.priorities[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package bot.staro.rokit.gen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToggleTest {
+    @Test
+    void gatesOnTheFirstDisableOnly() {
+        final Toggle toggle = new Toggle(null);
+        final AtomicInteger gated = new AtomicInteger();
+        toggle.gateWith(gated::incrementAndGet);
+        assertFalse(toggle.isGrouped());
+        assertEquals(0, gated.get());
+
+        toggle.setEnabled(false);
+        assertFalse(toggle.isEnabled());
+        toggle.setEnabled(true);
+        toggle.setEnabled(false);
+        assertEquals(1, gated.get());
+    }
+
+    @Test
+    void gatesRightAwayIfAlreadyDisabled() {
+        final Toggle toggle = new Toggle(null);
+        toggle.setEnabled(false);
+        final AtomicInteger gated = new AtomicInteger();
+        toggle.gateWith(gated::incrementAndGet);
+        assertEquals(1, gated.get());
+    }
+
+    @Test
+    void memberIsEnabledOnlyWhileItAndItsGroupAre() {
+        final Toggle group = new Toggle(null);
+        final Toggle member = new Toggle(group);
+        assertTrue(member.isGrouped());
+        assertTrue(member.isEnabled());
+
+        group.setEnabled(false);
+        assertFalse(member.isEnabled());
+        member.setEnabled(false);
+        group.setEnabled(true);
+        assertFalse(member.isEnabled());
+        member.setEnabled(true);
+        assertTrue(member.isEnabled());
+    }
+
+    @Test
+    void memberJoiningADisabledGroupStartsDisabled() {
+        final Toggle group = new Toggle(null);
+        group.setEnabled(false);
+        final Toggle member = new Toggle(group);
+        assertFalse(member.isEnabled());
+    }
+
+    @Test
+    void groupKeepsTrackOfManyMembers() {
+        final Toggle group = new Toggle(null);
+        final Toggle[] members = new Toggle[100];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new Toggle(group);
+        }
+
+        group.setEnabled(false);
+        for (final Toggle member : members) {
+            assertFalse(member.isEnabled());
+        }
+    }
+
+}
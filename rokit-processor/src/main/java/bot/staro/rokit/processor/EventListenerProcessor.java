@@ -12,8 +12,11 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.*;
@@ -22,10 +25,18 @@ import java.util.*;
 @AutoService(javax.annotation.processing.Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
 @SupportedAnnotationTypes("*")
-@SupportedOptions({"rokit.generatedPackage"})
+@SupportedOptions({"rokit.generatedPackage", "rokit.eventIds", "rokit.metrics", "rokit.report", "rokit.specialize"})
 public final class EventListenerProcessor extends AbstractProcessor {
     private static final String GEN_PKG = "bot.staro.rokit.generated";
-    private static final String BOOTSTRAP = "GeneratedBootstrap";
+    private static final String REGISTRY_PREFIX = "RokitRegistry_";
+    // HotSpot does not JIT compile methods above 8000 bytes of bytecode, generated switches are split into groups of 16 cases.
+    private static final int HUGE_METHOD_LIMIT = 8000;
+    // Methods on the dispatch path are called from hot call sites, HotSpot inlines those up to FreqInlineSize (325 bytes).
+    // MaxInlineSize (35 bytes) only applies to call sites that are not hot, so it is not checked.
+    // Ordinary dispatchers over a few buckets already pass it, so it is only reported with rokit.report.
+    private static final int FREQ_INLINE_SIZE = 325;
+    private static final int SWITCH_CHUNK_BITS = 4;
+    private static final int PAYLOAD_CHAIN_LIMIT = 4;
     private static final String[] PAYLOAD_ACCESSOR_CANDIDATES = new String[] {
             "getPacket", "getPayload", "getObject", "payload", "get", "value", "getValue", "object", "data", "setting", "screen"
     };
@@ -34,7 +45,14 @@ public final class EventListenerProcessor extends AbstractProcessor {
     private Messager messager;
     private Filer filer;
     private String genPkg = GEN_PKG;
+    private boolean explicitPackage = false;
+    private Map<String, Integer> providerSlots = Map.of();
     private boolean hadError = false;
+    // A compilation emits one registry, listeners that only show up in a later round would need a second one.
+    private boolean emitted = false;
+    private boolean metrics = false;
+    private boolean report = false;
+    private boolean specialize = false;
 
     private List<ParamBinder> paramBinders;
 
@@ -48,8 +66,13 @@ public final class EventListenerProcessor extends AbstractProcessor {
         final String opt = environment.getOptions().get("rokit.generatedPackage");
         if (opt != null && !opt.isBlank()) {
             this.genPkg = opt.trim();
+            this.explicitPackage = true;
         }
 
+        this.metrics = Boolean.parseBoolean(environment.getOptions().get("rokit.metrics"));
+        this.report = Boolean.parseBoolean(environment.getOptions().get("rokit.report"));
+        this.specialize = Boolean.parseBoolean(environment.getOptions().get("rokit.specialize"));
+
         this.paramBinders = new ArrayList<>();
         try {
             for (var b : ServiceLoader.load(ParamBinder.class, getClass().getClassLoader())) {
@@ -112,6 +135,11 @@ public final class EventListenerProcessor extends AbstractProcessor {
             return false;
         }
 
+        if (emitted) {
+            error(null, "Listeners of %s were generated in a later processing round, Rokit already emitted the registry of this compilation.", byOwner.keySet());
+            return false;
+        }
+
         final Map<String, EventModel> events = new LinkedHashMap<>();
         for (final List<MethodInfo> methods : byOwner.values()) {
             for (final MethodInfo mi : methods) {
@@ -134,6 +162,14 @@ public final class EventListenerProcessor extends AbstractProcessor {
                 final String ownerFqn = ((TypeElement) method.getEnclosingElement()).getQualifiedName().toString();
                 final String methodName = method.getSimpleName().toString();
                 final int priority = extractPriority(method, mi.annotation);
+                final boolean async = Boolean.parseBoolean(extractAttribute(method, mi.annotation, "async", "false"));
+                final String executor = extractAttribute(method, mi.annotation, "executor", "");
+                final boolean receiveCancelled = Boolean.parseBoolean(extractAttribute(method, mi.annotation, "receiveCancelled", "false"));
+                final List<Integer> keys = extractKeys(method, mi.annotation);
+                if (!keys.isEmpty() && !isKeyed(eventFqn)) {
+                    error(method, "Listener %s#%s has a key, but its event %s does not implement bot.staro.rokit.Keyed.", ownerFqn, methodName, eventFqn);
+                    continue;
+                }
 
                 final TypeElement contextualListenerMeta = elements.getTypeElement("bot.staro.rokit.ContextualListener");
                 final boolean isContextualListener = mi.annotation.getAnnotationMirrors()
@@ -234,7 +270,11 @@ public final class EventListenerProcessor extends AbstractProcessor {
                         eventFqn,
                         signatureKey,
                         paramPlans,
-                        conditionKey
+                        conditionKey,
+                        async,
+                        executor,
+                        receiveCancelled,
+                        keys
                 );
 
                 event.addListener(conditionKey, signatureKey, lm);
@@ -247,10 +287,7 @@ public final class EventListenerProcessor extends AbstractProcessor {
 
         final List<String> eventOrder = new ArrayList<>(events.keySet());
         Collections.sort(eventOrder);
-        final Map<String, Integer> eventIds = new HashMap<>();
-        for (int i = 0; i < eventOrder.size(); i++) {
-            eventIds.put(eventOrder.get(i), i);
-        }
+        final Map<String, Integer> eventIds = assignEventIds(eventOrder);
 
         final LinkedHashMap<String, String> providerDeclTypes = new LinkedHashMap<>();
         for (final EventModel em : events.values()) {
@@ -267,8 +304,13 @@ public final class EventListenerProcessor extends AbstractProcessor {
         final Map<String, Integer> providerIds = new LinkedHashMap<>();
         {
             int idx = 0;
-            for (final String key : providerDeclTypes.keySet()) {
-                providerIds.put(key, idx++);
+            final Map<Integer, String> keys = new HashMap<>();
+            for (final Map.Entry<String, String> e : providerDeclTypes.entrySet()) {
+                providerIds.put(e.getKey(), idx++);
+                final String other = keys.putIfAbsent(providerId(e.getKey(), e.getValue()), e.getKey());
+                if (other != null) {
+                    error(null, "Guards '%s' and '%s' hash to the same provider key, rename one of them.", other, e.getKey());
+                }
             }
         }
 
@@ -276,11 +318,19 @@ public final class EventListenerProcessor extends AbstractProcessor {
             return false;
         }
 
+        if (!explicitPackage) {
+            genPkg = defaultPackage(collectOwners(events));
+        }
+
+        providerSlots = providerIds;
+        emitted = true;
         try {
             emitProviderKeysIfNeeded(providerDeclTypes);
+            emitEventIds(eventOrder, eventIds);
             emitBootstrapAndDispatchers(events, eventOrder, eventIds, providerDeclTypes, providerIds);
         } catch (final IOException ex) {
-            messager.printMessage(Diagnostic.Kind.ERROR, "Rokit processor error: " + ex);
+            // A FilerException means a generated file already exists, e.g. another module generates into the same package with the same listeners.
+            messager.printMessage(Diagnostic.Kind.ERROR, "Rokit could not write its generated files: " + ex);
         }
 
         return true;
@@ -292,175 +342,673 @@ public final class EventListenerProcessor extends AbstractProcessor {
         }
 
         final String fqn = genPkg + ".ProviderKeys";
-        JavaFileObject jfo;
-        try {
-            jfo = filer.createSourceFile(fqn);
-        } catch (final FilerException ignore) {
-            return;
-        }
+        final JavaFileObject jfo = filer.createSourceFile(fqn);
 
         try (final Writer w = jfo.openWriter()) {
             w.write("package " + genPkg + ";\n\n");
             w.write("public final class ProviderKeys {\n");
             w.write("    private ProviderKeys() { }\n\n");
-            int idx = 0;
-            for (final String name : providerDeclTypes.keySet()) {
-                final String constName = sanitizeUpper(name);
-                w.write("    public static final int " + constName + " = " + idx + ";\n");
-                idx++;
+            for (final Map.Entry<String, String> provider : providerDeclTypes.entrySet()) {
+                w.write("    public static final int " + sanitizeUpper(provider.getKey()) + " = " + providerId(provider.getKey(), provider.getValue()) + ";\n");
+            }
+
+            w.write("}\n");
+        }
+    }
+
+
+    // Provider keys are derived from the name and type of the provider, so every module that declares the same provider agrees on its key.
+    private static int providerId(final String name, final String type) {
+        return (int) (fnv1a(name + ":" + type) & 0x7fffffffL);
+    }
+
+    // Listeners of the same module share a package, so it names the generated classes apart from the other modules on the class path.
+    private String defaultPackage(final List<String> owners) {
+        String common = null;
+        for (final String owner : owners) {
+            final TypeElement element = elements.getTypeElement(owner);
+            final String pkg = element == null ? "" : elements.getPackageOf(element).getQualifiedName().toString();
+            if (common == null) {
+                common = pkg;
+            }
+
+            while (!common.isEmpty() && !pkg.equals(common) && !pkg.startsWith(common + ".")) {
+                final int dot = common.lastIndexOf('.');
+                common = dot < 0 ? "" : common.substring(0, dot);
+            }
+        }
+
+        return common == null || common.isEmpty() ? GEN_PKG : common + ".generated";
+    }
+
+    // Pinned ids come from @EventId and the optional rokit.eventIds mapping file, the rest fill the lowest free ids.
+    private Map<String, Integer> assignEventIds(final List<String> eventOrder) {
+        final Map<String, Integer> pinned = new LinkedHashMap<>(readEventIdMapping());
+        final TypeElement eventIdAnno = elements.getTypeElement("bot.staro.rokit.EventId");
+        for (final String eventFqn : eventOrder) {
+            final TypeElement element = elements.getTypeElement(raw(eventFqn));
+            if (eventIdAnno == null || element == null || !eventFqn.equals(raw(eventFqn))) {
+                continue;
+            }
+
+            for (final AnnotationMirror am : element.getAnnotationMirrors()) {
+                if (!am.getAnnotationType().asElement().equals(eventIdAnno)) {
+                    continue;
+                }
+
+                for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : am.getElementValues().entrySet()) {
+                    final int id = ((Number) e.getValue().getValue()).intValue();
+                    final Integer prev = pinned.putIfAbsent(eventFqn, id);
+                    if (prev != null && prev != id) {
+                        error(element, "Event %s is pinned to id %d by @EventId but to %d by the id mapping.", eventFqn, id, prev);
+                    }
+                }
+            }
+        }
+
+        final Map<String, Integer> eventIds = new HashMap<>();
+        final Map<Integer, String> used = new HashMap<>();
+        for (final Map.Entry<String, Integer> e : pinned.entrySet()) {
+            if (!eventOrder.contains(e.getKey())) {
+                continue;
+            }
+
+            final String other = used.putIfAbsent(e.getValue(), e.getKey());
+            if (e.getValue() < 0) {
+                error(null, "Event %s is pinned to negative id %d.", e.getKey(), e.getValue());
+            } else if (other != null) {
+                error(null, "Events %s and %s are pinned to the same id %d.", other, e.getKey(), e.getValue());
+            }
+
+            eventIds.put(e.getKey(), e.getValue());
+        }
+
+        int next = 0;
+        for (final String eventFqn : eventOrder) {
+            if (eventIds.containsKey(eventFqn)) {
+                continue;
+            }
+
+            while (used.containsKey(next)) {
+                next++;
+            }
+
+            used.put(next, eventFqn);
+            eventIds.put(eventFqn, next);
+        }
+
+        return eventIds;
+    }
+
+    private Map<String, Integer> readEventIdMapping() {
+        final Map<String, Integer> mapping = new LinkedHashMap<>();
+        final String path = processingEnv.getOptions().get("rokit.eventIds");
+        if (path == null || path.isBlank()) {
+            return mapping;
+        }
+
+        final Properties properties = new Properties();
+        try (final java.io.Reader reader = java.nio.file.Files.newBufferedReader(java.nio.file.Path.of(path.trim()))) {
+            properties.load(reader);
+        } catch (final IOException ex) {
+            error(null, "Failed to read the event id mapping '%s': %s", path, ex);
+            return mapping;
+        }
+
+        for (final String eventFqn : new TreeSet<>(properties.stringPropertyNames())) {
+            try {
+                mapping.put(eventFqn.replace(" ", ""), Integer.parseInt(properties.getProperty(eventFqn).trim()));
+            } catch (final NumberFormatException ex) {
+                error(null, "Invalid id '%s' for event %s in the event id mapping.", properties.getProperty(eventFqn), eventFqn);
+            }
+        }
+
+        return mapping;
+    }
+
+    private void emitServiceEntry(final String registryFqn) throws IOException {
+        final FileObject services = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/bot.staro.rokit.gen.Registry");
+
+        try (final Writer w = services.openWriter()) {
+            w.write(registryFqn + "\n");
+        }
+    }
+
+    // The dispatch plan of every event as JSON, so hot events can be inspected without reading the generated code.
+    private void emitReport(final String registryFqn, final Map<String, EventModel> events, final List<String> eventOrder,
+                            final Map<String, Integer> eventIds, final Map<EventModel, List<EventModel>> supertypes) throws IOException {
+        final FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/rokit/" + registryFqn + ".json");
+
+        try (final Writer w = resource.openWriter()) {
+            w.write("{\n");
+            w.write("  \"registry\": " + javaString(registryFqn) + ",\n");
+            w.write("  \"metrics\": " + metrics + ",\n");
+            w.write("  \"events\": {");
+            for (int e = 0; e < eventOrder.size(); e++) {
+                final EventModel em = events.get(eventOrder.get(e));
+                final List<EventModel> supers = supertypes.getOrDefault(em, List.of());
+                final List<PlanBucket> plan = new ArrayList<>();
+                for (final EventModel m : concat(em, supers)) {
+                    for (final BucketKey key : m.orderedBucketKeys()) {
+                        plan.add(new PlanBucket(m, key));
+                    }
+                }
+
+                final Set<String> providers = new LinkedHashSet<>();
+                final Set<String> extractors = new LinkedHashSet<>();
+                int listeners = 0;
+                for (final PlanBucket pb : plan) {
+                    providers.addAll(conditionGuards(pb.key));
+                    extractors.addAll(conditionExtractors(pb.key));
+                    listeners += pb.model.buckets.get(pb.key).size();
+                }
+
+                w.write(e == 0 ? "\n" : ",\n");
+                w.write("    " + javaString(em.eventFqn) + ": {\n");
+                w.write("      \"id\": " + eventIds.get(em.eventFqn) + ",\n");
+                w.write("      \"cancellable\": " + isCancellable(em) + ",\n");
+                w.write("      \"supertypes\": " + jsonArray(supers.stream().map(m -> m.eventFqn).toList()) + ",\n");
+                w.write("      \"providers\": " + jsonArray(providers) + ",\n");
+                w.write("      \"extractors\": " + jsonArray(extractors) + ",\n");
+                w.write("      \"listenerMethods\": " + listeners + ",\n");
+                w.write("      \"buckets\": [");
+                for (int b = 0; b < plan.size(); b++) {
+                    final PlanBucket pb = plan.get(b);
+                    w.write(b == 0 ? "\n" : ",\n");
+                    w.write("        {\n");
+                    w.write("          \"event\": " + javaString(pb.model.eventFqn) + ",\n");
+                    w.write("          \"signature\": " + javaString(pb.key.signatureKey) + ",\n");
+                    w.write("          \"guards\": " + jsonArray(conditionGuards(pb.key)) + ",\n");
+                    w.write("          \"extractors\": " + jsonArray(conditionExtractors(pb.key)) + ",\n");
+                    w.write("          \"receiveCancelled\": " + pb.key.receiveCancelled + ",\n");
+                    if (pb.key.key != null) {
+                        w.write("          \"key\": " + pb.key.key + ",\n");
+                    }
+                    w.write("          \"listeners\": [");
+                    final List<ListenerModel> bucket = pb.model.buckets.get(pb.key);
+                    for (int l = 0; l < bucket.size(); l++) {
+                        final ListenerModel lm = bucket.get(l);
+                        w.write(l == 0 ? "\n" : ",\n");
+                        w.write("            {\"owner\": " + javaString(lm.ownerFqn) + ", \"method\": " + javaString(lm.methodName) + ", \"priority\": " + lm.priority
+                                + ", \"async\": " + lm.async + (lm.async ? ", \"executor\": " + javaString(lm.executor) : "") + "}");
+                    }
+                    w.write(bucket.isEmpty() ? "]\n" : "\n          ]\n");
+                    w.write("        }");
+                }
+                w.write(plan.isEmpty() ? "]\n" : "\n      ]\n");
+                w.write("    }");
+            }
+            w.write(eventOrder.isEmpty() ? "}\n" : "\n  }\n");
+            w.write("}\n");
+        }
+    }
+
+    private static List<EventModel> concat(final EventModel first, final List<EventModel> rest) {
+        final List<EventModel> all = new ArrayList<>(rest.size() + 1);
+        all.add(first);
+        all.addAll(rest);
+        return all;
+    }
+
+    private static String jsonArray(final Collection<String> values) {
+        final StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (final String value : values) {
+            joiner.add(javaString(value));
+        }
+
+        return joiner.toString();
+    }
+
+    private void emitEventIds(final List<String> eventOrder, final Map<String, Integer> eventIds) throws IOException {
+        final String fqn = genPkg + ".EventIds";
+        final JavaFileObject jfo = filer.createSourceFile(fqn);
+
+        final Map<String, Integer> nameCounts = new HashMap<>();
+        for (final String eventFqn : eventOrder) {
+            nameCounts.merge(eventIdConstant(eventFqn, false), 1, Integer::sum);
+        }
+
+        final List<String> byId = new ArrayList<>(eventOrder);
+        byId.sort(Comparator.comparing(eventIds::get));
+        try (final Writer w = jfo.openWriter()) {
+            w.write("package " + genPkg + ";\n\n");
+            w.write("/**\n");
+            w.write(" * Ids of the listened event types, to be passed to EventBus#post(Object, int).\n");
+            w.write(" */\n");
+            w.write("public final class EventIds {\n");
+            w.write("    private EventIds() { }\n\n");
+            for (final String eventFqn : byId) {
+                final String simple = eventIdConstant(eventFqn, false);
+                final String constName = nameCounts.get(simple) > 1 ? eventIdConstant(eventFqn, true) : simple;
+                w.write("    /** " + eventFqn.replace("<", "&lt;").replace(">", "&gt;") + " */\n");
+                w.write("    public static final int " + constName + " = " + eventIds.get(eventFqn) + ";\n");
             }
 
             w.write("}\n");
         }
     }
 
+    private static String eventIdConstant(final String eventFqn, final boolean qualified) {
+        String name = qualified ? eventFqn : eventFqn.replaceAll("[A-Za-z0-9_$]+\\.", "");
+        name = sanitizeUpper(name);
+        while (name.endsWith("_")) {
+            name = name.substring(0, name.length() - 1);
+        }
+
+        return name;
+    }
 
     private void emitBootstrapAndDispatchers(final Map<String, EventModel> events, final List<String> eventOrder, final Map<String, Integer> eventIds, final LinkedHashMap<String, String> providerDeclTypes, final Map<String, Integer> providerIds) throws IOException {
-        final String fqn = genPkg + "." + BOOTSTRAP;
-        JavaFileObject jfo;
-        try {
-            jfo = filer.createSourceFile(fqn);
-        } catch (final FilerException ignore) {
-            return;
+        // Every module generates its own registry, named after its listeners so modules sharing the generated package do not clash.
+        final String registry = REGISTRY_PREFIX + Long.toHexString(fnv1a(genPkg + "|" + String.join(",", collectOwners(events))));
+        final String fqn = genPkg + "." + registry;
+        final JavaFileObject jfo = filer.createSourceFile(fqn);
+
+        emitServiceEntry(fqn);
+
+        final Map<EventModel, List<EventModel>> supertypes = collectSupertypes(groupByRawType(events));
+        if (report) {
+            emitReport(fqn, events, eventOrder, eventIds, supertypes);
         }
 
         try (final Writer w = jfo.openWriter()) {
             w.write("package " + genPkg + ";\n\n");
             w.write("import bot.staro.rokit.RokitEventBus;\n");
+            w.write("import bot.staro.rokit.gen.BatchFailure;\n");
+            w.write("import bot.staro.rokit.gen.Bucket;\n");
+            w.write("import bot.staro.rokit.gen.BucketBatch;\n");
             w.write("import bot.staro.rokit.gen.BusState;\n");
+            w.write("import bot.staro.rokit.gen.Registration;\n");
+            w.write("import bot.staro.rokit.gen.Registry;\n");
+            w.write("import bot.staro.rokit.gen.SpecializedSite;\n");
+            w.write("import bot.staro.rokit.gen.Toggle;\n");
+            w.write("import bot.staro.rokit.gen.WeakSubscriber;\n");
+            w.write("import bot.staro.rokit.gen.WeakSubscriptions;\n");
             w.write("import java.util.*;\n");
             w.write("import java.util.concurrent.ConcurrentHashMap;\n");
-            w.write("public final class " + BOOTSTRAP + " {\n");
-            w.write("    private " + BOOTSTRAP + "() { }\n\n");
+            w.write("public final class " + registry + " implements Registry {\n");
+            w.write("    public " + registry + "() { }\n\n");
             w.write("    private static final class State implements BusState {\n");
-            w.write("        final ConcurrentHashMap<Object, java.util.List<Runnable>> removals = new ConcurrentHashMap<>();\n");
+            w.write("        final Object[] providers;\n");
+            w.write("        final ConcurrentHashMap<Object, Registration> registrations = new ConcurrentHashMap<>();\n");
+            w.write("        final WeakSubscriptions weak = new WeakSubscriptions();\n");
+            w.write("        final java.util.concurrent.atomic.AtomicIntegerArray listenerCounts = new java.util.concurrent.atomic.AtomicIntegerArray(" + eventOrder.size() + ");\n");
             for (final String eventFqn : eventOrder) {
                 final String dispatcherName = dispatcherClassName(eventFqn);
                 w.write("        final " + dispatcherName + ".Store store_" + sanitizeFqn(eventFqn) + " = new " + dispatcherName + ".Store();\n");
             }
 
-            w.write("        boolean addRemoval(final Object subscriber, final Runnable r) {\n");
-            w.write("            return removals.compute(subscriber, (k, v) -> {\n");
-            w.write("                if (v == null) { v = new java.util.ArrayList<>(); }\n");
-            w.write("                v.add(r);\n");
-            w.write("                return v;\n");
-            w.write("            }) != null;\n");
+            w.write("        State(final Object[] providers) { this.providers = providers; }\n");
+            w.write("        boolean isSubscribed(final Object subscriber) { return registrations.containsKey(subscriber) || weak.contains(subscriber); }\n");
+            w.write("    }\n\n");
+
+            w.write("    @Override public BusState newState(final Object[] providers) { return new State(providers); }\n\n");
+
+            w.write("    private static final int[] PROVIDER_IDS = {\n");
+            for (final Map.Entry<String, String> provider : providerDeclTypes.entrySet()) {
+                w.write("            " + providerId(provider.getKey(), provider.getValue()) + ",\n");
+            }
+            w.write("    };\n\n");
+
+            w.write("    private static final String[] PROVIDER_NAMES = {\n");
+            for (final Map.Entry<String, String> provider : providerDeclTypes.entrySet()) {
+                w.write("            " + javaString(provider.getKey() + ":" + provider.getValue()) + ",\n");
+            }
+            w.write("    };\n\n");
+
+            w.write("    @Override public int[] providerIds() { return PROVIDER_IDS.clone(); }\n\n");
+            w.write("    @Override public String[] providerNames() { return PROVIDER_NAMES.clone(); }\n\n");
+
+            final Map<String, List<EventModel>> eventsByRawType = groupByRawType(events);
+            final List<String> rawTypes = new ArrayList<>(eventsByRawType.keySet());
+            w.write("    private static final Class<?>[] EVENT_TYPES = {\n");
+            for (final String rawFqn : rawTypes) {
+                w.write("            " + rawFqn + ".class,\n");
+            }
+            w.write("    };\n\n");
+
+            w.write("    private static final boolean[] GENERIC_TYPES = {\n");
+            for (final String rawFqn : rawTypes) {
+                w.write("            " + isGenericGroup(eventsByRawType.get(rawFqn)) + ",\n");
+            }
+            w.write("    };\n\n");
+
+            w.write("    @Override public int[] route(final Class<?> type) {\n");
+            w.write("        final int[] matches = new int[EVENT_TYPES.length];\n");
+            w.write("        int count = 0;\n");
+            w.write("        for (int i = 0; i < EVENT_TYPES.length; i++) {\n");
+            w.write("            if (EVENT_TYPES[i].isAssignableFrom(type)) { matches[count++] = i; }\n");
             w.write("        }\n");
-            w.write("        java.util.List<Runnable> takeRemovals(final Object subscriber) { return removals.remove(subscriber); }\n");
-            w.write("        boolean isSubscribed(final Object subscriber) { return removals.containsKey(subscriber); }\n");
+            w.write("        // The most specific listened type already merges the listeners of its listened supertypes by priority.\n");
+            w.write("        for (int i = 0; i < count; i++) {\n");
+            w.write("            final Class<?> candidate = EVENT_TYPES[matches[i]];\n");
+            w.write("            boolean mostSpecific = !GENERIC_TYPES[matches[i]];\n");
+            w.write("            for (int j = 0; j < count && mostSpecific; j++) {\n");
+            w.write("                mostSpecific = !GENERIC_TYPES[matches[j]] && EVENT_TYPES[matches[j]].isAssignableFrom(candidate);\n");
+            w.write("            }\n");
+            w.write("            if (mostSpecific) { return new int[] { matches[i] }; }\n");
+            w.write("        }\n");
+            w.write("        // Otherwise every matching type is delivered on its own.\n");
+            w.write("        final int[] codes = new int[count];\n");
+            w.write("        for (int i = 0; i < count; i++) {\n");
+            w.write("            codes[i] = GENERIC_TYPES[matches[i]] ? matches[i] : EVENT_TYPES.length + matches[i];\n");
+            w.write("        }\n");
+            w.write("        return codes;\n");
             w.write("    }\n\n");
 
-            w.write("    public static BusState newState() { return new State(); }\n\n");
+            final SortedMap<Integer, String> dispatchCases = new TreeMap<>();
+            final SortedMap<Integer, String> batchCases = new TreeMap<>();
+            final SortedMap<Integer, String> bandCases = new TreeMap<>();
+            final SortedMap<Integer, String> countCases = new TreeMap<>();
+            boolean payloadHelper = false;
+            for (int i = 0; i < rawTypes.size(); i++) {
+                final String rawFqn = rawTypes.get(i);
+                final List<EventModel> specializations = eventsByRawType.get(rawFqn);
+                if (!isGenericGroup(specializations)) {
+                    final EventModel em = specializations.getFirst();
+                    final String dispatcher = dispatcherClassName(em.eventFqn);
+                    final boolean merged = !supertypes.get(em).isEmpty();
+                    final List<EventModel> plan = new ArrayList<>();
+                    plan.add(em);
+                    plan.addAll(supertypes.get(em));
+                    dispatchCases.put(i, dispatcher + ".dispatch(bus, s, (" + em.eventFqn + ") event);");
+                    dispatchCases.put(rawTypes.size() + i, dispatcher + "." + (merged ? "dispatchExact" : "dispatch") + "(bus, s, (" + em.eventFqn + ") event);");
+                    bandCases.put(i, "{ return " + dispatcher + ".dispatchBand(bus, s, (" + em.eventFqn + ") event, band); }");
+                    bandCases.put(rawTypes.size() + i, "{ return " + dispatcher + "." + (merged ? "dispatchExactBand" : "dispatchBand") + "(bus, s, (" + em.eventFqn + ") event, band); }");
+                    batchCases.put(i, dispatcher + ".dispatchBatch(bus, s, events, from, to);");
+                    batchCases.put(rawTypes.size() + i, dispatcher + "." + (merged ? "dispatchExactBatch" : "dispatchBatch") + "(bus, s, events, from, to);");
+                    countCases.put(i, renderCountCheck(plan, eventOrder));
+                    countCases.put(rawTypes.size() + i, renderCountCheck(List.of(em), eventOrder));
+                    continue;
+                }
+
+                countCases.put(i, renderCountCheck(specializations, eventOrder));
+                final TypeElement rawElement = elements.getTypeElement(rawFqn);
+                final ExecutableElement accessor = findPayloadAccessor(rawElement);
+                if (accessor == null) {
+                    error(rawElement, "Cannot dispatch generic event %s: could not find a suitable payload accessor method like getObject() or getPayload() that returns a type variable.", rawFqn);
+                    continue;
+                }
 
-            w.write("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
-            w.write("    public static <E> void dispatch(final RokitEventBus bus, final BusState bs, final E event) {\n");
-            if (eventOrder.isEmpty()) {
-                w.write("        return;\n");
-            } else {
-                w.write("        final State s = (State) bs;\n");
+                if (specializations.size() > PAYLOAD_CHAIN_LIMIT) {
+                    // Large groups resolve the matching specializations once per payload class instead of testing every one of them.
+                    if (!payloadHelper) {
+                        w.write("    private static ClassValue<int[]> payloads(final Class<?>... types) {\n");
+                        w.write("        return new ClassValue<>() {\n");
+                        w.write("            @Override protected int[] computeValue(final Class<?> type) {\n");
+                        w.write("                final int[] matches = new int[types.length];\n");
+                        w.write("                int n = 0;\n");
+                        w.write("                for (int i = 0; i < types.length; i++) { if (types[i].isAssignableFrom(type)) { matches[n++] = i; } }\n");
+                        w.write("                return java.util.Arrays.copyOf(matches, n);\n");
+                        w.write("            }\n");
+                        w.write("        };\n");
+                        w.write("    }\n\n");
+                        payloadHelper = true;
+                    }
 
-                final Map<String, List<EventModel>> eventsByRawType = new LinkedHashMap<>();
-                for (EventModel em : events.values()) {
-                    eventsByRawType.computeIfAbsent(raw(em.eventFqn), k -> new ArrayList<>()).add(em);
+                    w.write("    private static final ClassValue<int[]> PAYLOADS_" + i + " = payloads(\n");
+                    for (int j = 0; j < specializations.size(); j++) {
+                        w.write("            " + raw(specializations.get(j).getGenericArgumentFqn()) + ".class" + (j + 1 < specializations.size() ? ",\n" : ");\n\n"));
+                    }
                 }
 
-                boolean first = true;
-                for (Map.Entry<String, List<EventModel>> entry : eventsByRawType.entrySet()) {
-                    final String rawFqn = entry.getKey();
-                    final List<EventModel> specializations = entry.getValue();
+                dispatchCases.put(i, renderPayloadDispatch(i, rawFqn, accessor, specializations, false));
+                bandCases.put(i, renderPayloadDispatch(i, rawFqn, accessor, specializations, true));
+            }
 
-                    w.write("        " + (first ? "if" : "else if") + " (event instanceof " + rawFqn + ") {\n");
-                    first = false;
+            emitSwitchMethod(w, "    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n", "@Override public", "void", "dispatch",
+                    "final int code, final RokitEventBus bus, final BusState bs, final Object event", "code, bus, bs, event",
+                    "        final State s = (State) bs;\n", "code", dispatchCases, "{ }", false);
+
+            // Routes that reach several registries or listened types are walked one priority at a time, so their priorities interleave.
+            emitSwitchMethod(w, "    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n", "@Override public", "long", "dispatchBand",
+                    "final int code, final RokitEventBus bus, final BusState bs, final Object event, final int band", "code, bus, bs, event, band",
+                    "        final State s = (State) bs;\n", "code", bandCases, "{ return Registry.NO_PRIORITY; }", false);
+
+            // Generic events are matched by their payload, so their batches are dispatched one event at a time.
+            emitSwitchMethod(w, "", "@Override public", "void", "dispatchBatch",
+                    "final int code, final RokitEventBus bus, final BusState bs, final Object[] events, final int from, final int to", "code, bus, bs, events, from, to",
+                    "        final State s = (State) bs;\n", "code", batchCases, "{ int i = from; try { for (; i < to; i++) { dispatch(code, bus, bs, events[i]); } } catch (final Throwable t) { throw BatchFailure.at(i, t); } }", false);
+
+            // Counts are kept per event type, a route code checks every event type it would dispatch to.
+            emitSwitchMethod(w, "", "@Override public", "boolean", "hasListeners", "final int code, final BusState bs", "code, bs",
+                    "        final java.util.concurrent.atomic.AtomicIntegerArray c = ((State) bs).listenerCounts;\n", "code", countCases, "false", true);
+
+            final List<String> byId = new ArrayList<>(eventOrder);
+            byId.sort(Comparator.comparing(eventIds::get));
+            w.write("    private static final int[] EVENT_IDS = {\n");
+            for (final String eventFqn : byId) {
+                w.write("            " + eventIds.get(eventFqn) + ",\n");
+            }
+            w.write("    };\n\n");
 
-                    if (specializations.size() == 1 && !specializations.getFirst().isGeneric()) {
-                        final EventModel em = specializations.getFirst();
-                        w.write("            " + dispatcherClassName(em.eventFqn) + ".dispatch(bus, s.store_" + sanitizeFqn(em.eventFqn) + ", (" + em.eventFqn + ") event);\n");
-                    } else {
-                        final TypeElement rawElement = elements.getTypeElement(rawFqn);
-                        final ExecutableElement accessor = findPayloadAccessor(rawElement);
-
-                        if (accessor == null) {
-                            error(rawElement, "Cannot dispatch generic event %s: could not find a suitable payload accessor method like getObject() or getPayload() that returns a type variable.", rawFqn);
-                            w.write("            // ERROR: No payload accessor found for " + rawFqn + "\n");
-                            w.write("        }\n");
-                            continue;
-                        }
+            w.write("    private static final Class<?>[] EVENT_ID_TYPES = {\n");
+            for (final String eventFqn : byId) {
+                w.write("            " + raw(eventFqn) + ".class,\n");
+            }
+            w.write("    };\n\n");
 
-                        w.write("            final " + rawFqn + " typedEvent = (" + rawFqn + ") event;\n");
-                        w.write("            final Object payload = typedEvent." + accessor.getSimpleName() + "();\n");
+            w.write("    @Override public int[] eventIds() { return EVENT_IDS.clone(); }\n\n");
+            w.write("    @Override public Class<?>[] eventIdTypes() { return EVENT_ID_TYPES.clone(); }\n\n");
 
-                        for (EventModel em : specializations) {
-                            w.write("            if (payload instanceof " + em.getGenericArgumentFqn() + ") {\n");
-                            w.write("                " + dispatcherClassName(em.eventFqn) + ".dispatch(bus, s.store_" + sanitizeFqn(em.eventFqn) + ", typedEvent);\n");
-                            w.write("            }\n");
-                        }
-                    }
-                    w.write("            return;\n");
-                    w.write("        }\n");
+            final SortedMap<Integer, String> idCountCases = new TreeMap<>();
+            final SortedMap<Integer, String> idDispatchCases = new TreeMap<>();
+            for (final String eventFqn : byId) {
+                final EventModel em = events.get(eventFqn);
+                final List<EventModel> merged = new ArrayList<>();
+                merged.add(em);
+                merged.addAll(supertypes.get(em));
+                idCountCases.put(eventIds.get(eventFqn), renderCountCheck(merged, eventOrder));
+
+                final String rawFqn = raw(eventFqn);
+                if (isGenericGroup(eventsByRawType.get(rawFqn))) {
+                    // The id of a generic event does not tell its payload, so it is left to the routed dispatch that checks the payload.
+                    continue;
                 }
-                w.write("        else { return; }\n");
+
+                final String call = dispatcherClassName(eventFqn) + ".dispatch(bus, s, (" + rawFqn + ") event)";
+                final StringBuilder body = new StringBuilder("{\n");
+                body.append("                if (event.getClass() != ").append(rawFqn).append(".class) { return false; }\n");
+                body.append("                ").append(call).append(";\n");
+                body.append("                return true;\n");
+                idDispatchCases.put(eventIds.get(eventFqn), body.append("            }").toString());
             }
-            w.write("    }\n\n");
 
-            w.write("    public static void register(final RokitEventBus bus, final BusState bs, final Object subscriber) {\n");
-            w.write("        final State s = (State) bs;\n");
+            emitSwitchMethod(w, "", "@Override public", "boolean", "hasListenersById", "final BusState bs, final int id", "bs, id",
+                    "        final java.util.concurrent.atomic.AtomicIntegerArray c = ((State) bs).listenerCounts;\n", "id", idCountCases, "false", true);
+
+            // The id skips the type lookup. The event class is still compared, so an event that does not match its id falls back to a routed dispatch.
+            emitSwitchMethod(w, "", "@Override public", "boolean", "dispatchById",
+                    "final RokitEventBus bus, final BusState bs, final Object event, final int id", "bus, bs, event, id",
+                    "        final State s = (State) bs;\n", "id", idDispatchCases, "{ return false; }", false);
+
             final List<String> owners = collectOwners(events);
-            boolean firstOwner = true;
+            final Map<ListenerModel, List<Integer>> overriders = collectOverriders(events, owners);
+            final Set<ListenerModel> overridable = collectOverridable(events, owners);
+            final Map<String, Set<Long>> externalOverrides = collectExternalOverrides(events, owners);
+            w.write("    private static final Class<?>[] OWNER_TYPES = {\n");
             for (final String owner : owners) {
-                w.write("        " + (firstOwner ? "if" : "else if") + " (subscriber instanceof " + owner + " listenerInstance) {\n");
-                firstOwner = false;
-                for (final Map.Entry<String, EventModel> eventEntry : events.entrySet()) {
-                    final String eventFqn = eventEntry.getKey();
-                    final EventModel em = eventEntry.getValue();
-                    final List<BucketKey> keys = em.orderedBucketKeys();
-
-                    for (final BucketKey bk : keys) {
-                        final List<ListenerModel> listeners = em.buckets.get(bk);
-                        for (final ListenerModel lm : listeners) {
-                            if (!lm.ownerFqn.equals(owner)) {
-                                continue;
-                            }
+                w.write("            " + owner + ".class,\n");
+            }
+            w.write("    };\n\n");
+
+            // A subscriber class is resolved once to every listener class it is an instance of, so inherited listeners are registered too.
+            w.write("    private static final ClassValue<int[]> OWNERS = new ClassValue<>() {\n");
+            w.write("        @Override protected int[] computeValue(final Class<?> type) {\n");
+            w.write("            final int[] owners = new int[OWNER_TYPES.length];\n");
+            w.write("            int count = 0;\n");
+            w.write("            for (int i = 0; i < OWNER_TYPES.length; i++) {\n");
+            w.write("                if (OWNER_TYPES[i].isAssignableFrom(type)) { owners[count++] = i; }\n");
+            w.write("            }\n");
+            w.write("            return Arrays.copyOf(owners, count);\n");
+            w.write("        }\n");
+            w.write("    };\n\n");
 
-                            final long sid = stableId(lm.ownerFqn, lm.methodName, lm.eventFqn, lm.signatureKey);
-                            final String dispatcher = dispatcherClassName(eventFqn);
-                            final String invokerInterface = dispatcherInvokerInterfaceName(lm.eventFqn, lm.signatureKey);
-                            final String addMethod = dispatcherAddMethodName(lm.eventFqn, bk, lm.signatureKey);
-                            final String args = buildInvokerArgs(lm.paramPlans);
-                            w.write("            {\n");
-                            w.write("                final " + dispatcher + "." + invokerInterface + " adapter = new " + dispatcher + "." + invokerInterface + "() {\n");
-                            w.write("                    @Override public void invoke(final " + raw(lm.eventFqn) + " event" + buildParamDeclsFromPlans(lm.paramPlans) + ") {\n");
-                            w.write("                        listenerInstance." + lm.methodName + "((" + lm.eventFqn + ")event" + args + ");\n");
-                            w.write("                    }\n");
-                            w.write("                };\n");
-                            w.write("                final Runnable removal = " + dispatcher + "." + addMethod + "(bus, s.store_" + sanitizeFqn(eventFqn) + ", listenerInstance, " + lm.priority + ", " + sid + "L, adapter);\n");
-                            w.write("                s.addRemoval(subscriber, removal);\n");
-                            w.write("            }\n");
-                        }
+            // Listener methods of other registries that are overridden here, those registries leave them to the override.
+            if (externalOverrides.isEmpty()) {
+                w.write("    @Override public long[] overriddenListeners(final Class<?> type) { return new long[0]; }\n\n");
+            } else {
+                w.write("    private static final long[][] OWNER_OVERRIDES = {\n");
+                for (final String owner : owners) {
+                    final List<String> ids = new ArrayList<>();
+                    for (final long id : externalOverrides.getOrDefault(owner, Set.of())) {
+                        ids.add(id + "L");
                     }
-                }
 
+                    w.write("            {" + String.join(", ", ids) + "},\n");
+                }
+                w.write("    };\n\n");
+                w.write("    @Override public long[] overriddenListeners(final Class<?> type) {\n");
+                w.write("        long[] ids = new long[0];\n");
+                w.write("        for (final int owner : OWNERS.get(type)) {\n");
+                w.write("            final long[] more = OWNER_OVERRIDES[owner];\n");
+                w.write("            ids = Arrays.copyOf(ids, ids.length + more.length);\n");
+                w.write("            System.arraycopy(more, 0, ids, ids.length - more.length, more.length);\n");
                 w.write("        }\n");
+                w.write("        return ids;\n");
+                w.write("    }\n\n");
             }
+
+            w.write("    @Override public Registration register(final RokitEventBus bus, final BusState bs, final Object subscriber, final boolean weak, final Toggle toggle, final long[] overridden, final BucketBatch batch) {\n");
+            w.write("        final State s = (State) bs;\n");
+            w.write("        if (s.isSubscribed(subscriber)) { return null; }\n");
             if (!owners.isEmpty()) {
-                w.write("        else { }\n");
+                w.write("        final int[] owners = OWNERS.get(subscriber.getClass());\n");
+                w.write("        if (owners.length == 0) { return null; }\n");
+                w.write("        final WeakSubscriber reference = weak ? s.weak.reference(subscriber) : null;\n");
+                w.write("        final Registration registration;\n");
+                w.write("        if (owners.length == 1) {\n");
+                w.write("            registration = newRegistration(owners[0], owners, overridden, bus, subscriber, reference, toggle);\n");
+                w.write("        } else {\n");
+                w.write("            final Registration[] parts = new Registration[owners.length];\n");
+                w.write("            for (int i = 0; i < owners.length; i++) { parts[i] = newRegistration(owners[i], owners, overridden, bus, subscriber, reference, toggle); }\n");
+                w.write("            registration = new Composite(parts);\n");
+                w.write("        }\n");
+                w.write("        registration.register(s, batch);\n");
+                w.write("        if (weak ? !s.weak.add(reference, registration) : s.registrations.putIfAbsent(subscriber, registration) != null) {\n");
+                w.write("            // Lost a race against another subscribe of the same subscriber.\n");
+                w.write("            registration.unregister(s, batch);\n");
+                w.write("            return null;\n");
+                w.write("        }\n");
+                w.write("        return registration;\n");
+            } else {
+                w.write("        return null;\n");
+            }
+            w.write("    }\n\n");
+
+            final SortedMap<Integer, String> ownerCases = new TreeMap<>();
+            for (int i = 0; i < owners.size(); i++) {
+                ownerCases.put(i, registerMethodName(owners.get(i)) + "(bus, (" + owners.get(i) + ") subscriber, reference, toggle" + (isOverridden(owners.get(i), overriders) ? ", owners" : "")
+                        + (isOverridable(owners.get(i), overridable) ? ", overridden" : "") + ")");
+            }
+
+            emitSwitchMethod(w, "", "private", "Registration", "newRegistration",
+                    "final int owner, final int[] owners, final long[] overridden, final RokitEventBus bus, final Object subscriber, final WeakSubscriber reference, final Toggle toggle",
+                    "owner, owners, overridden, bus, subscriber, reference, toggle",
+                    "", "owner", ownerCases, "null", true);
+
+            for (final String owner : owners) {
+                // Executors are resolved before the first add, so a missing executor does not leave the subscriber half registered.
+                final List<String> executorNames = collectExecutors(events, owner);
+                final boolean overridden = isOverridden(owner, overriders);
+                final boolean external = isOverridable(owner, overridable);
+                final StringBuilder ctorArgs = new StringBuilder("listener, reference, toggle" + (overridden ? ", owners" : "") + (external ? ", overridden" : "")
+                        + (executorNames.isEmpty() ? "" : ", bus"));
+                for (final String executorName : executorNames) {
+                    ctorArgs.append(", bus.executor(").append(javaString(executorName)).append(")");
+                }
+
+                w.write("    private static Registration " + registerMethodName(owner) + "(final RokitEventBus bus, final " + owner + " listener, final WeakSubscriber reference, final Toggle toggle"
+                        + (overridden ? ", final int[] owners" : "") + (external ? ", final long[] overridden" : "") + ") {\n");
+                if (metrics) {
+                    for (final ListenerModel lm : ownerListeners(events, owner)) {
+                        final long sid = stableId(lm.ownerFqn, lm.methodName, lm.eventFqn, lm.signatureKey);
+                        w.write("        bus.metrics().nameListener(" + sid + "L, " + javaString(lm.ownerFqn + "#" + lm.methodName + "(" + lm.eventFqn + ")") + ");\n");
+                    }
+                }
+                w.write("        return new " + registrationClassName(owner) + "(" + ctorArgs + ");\n");
+                w.write("    }\n\n");
             }
+
+            w.write("    @Override public void unregister(final BusState bs, final Object subscriber, final BucketBatch batch) {\n");
+            w.write("        final State s = (State) bs;\n");
+            w.write("        Registration registration = s.registrations.remove(subscriber);\n");
+            w.write("        if (registration == null) { registration = s.weak.remove(subscriber); }\n");
+            w.write("        if (registration != null) { registration.unregister(s, batch); }\n");
+            w.write("    }\n\n");
+
+            // Only removes the registration if it is still the current one, so closing a subscription after an unsubscribe and a new subscribe does nothing.
+            w.write("    @Override public void unregister(final BusState bs, final Registration registration, final BucketBatch batch) {\n");
+            w.write("        final State s = (State) bs;\n");
+            w.write("        final Object key = registration.key();\n");
+            w.write("        if (key instanceof WeakSubscriber reference ? s.weak.remove(reference, registration) : s.registrations.remove(key, registration)) {\n");
+            w.write("            registration.unregister(s, batch);\n");
+            w.write("        }\n");
             w.write("    }\n\n");
 
-            w.write("    public static void unregister(final RokitEventBus bus, final BusState bs, final Object subscriber) {\n");
+            w.write("    @Override public Toggle toggle(final BusState bs, final Object subscriber) {\n");
             w.write("        final State s = (State) bs;\n");
-            w.write("        final java.util.List<Runnable> list = s.takeRemovals(subscriber);\n");
-            w.write("        if (list == null) { return; }\n");
-            w.write("        for (int i = 0; i < list.size(); i++) { list.get(i).run(); }\n");
+            w.write("        Registration registration = s.registrations.get(subscriber);\n");
+            w.write("        if (registration == null) { registration = s.weak.get(subscriber); }\n");
+            w.write("        return registration == null ? null : registration.toggle();\n");
             w.write("    }\n\n");
 
-            w.write("    public static boolean isSubscribed(final BusState bs, final Object subscriber) {\n");
+            w.write("    @Override public boolean isSubscribed(final BusState bs, final Object subscriber) {\n");
             w.write("        final State s = (State) bs;\n");
             w.write("        return s.isSubscribed(subscriber);\n");
             w.write("    }\n\n");
 
+            w.write("    @Override public void expunge(final BusState bs) {\n");
+            w.write("        ((State) bs).weak.expunge(bs);\n");
+            w.write("    }\n\n");
+
+            w.write("    private static final String[] EVENT_NAMES = {\n");
+            for (final String eventFqn : eventOrder) {
+                w.write("            " + javaString(eventFqn) + ",\n");
+            }
+            w.write("    };\n\n");
+
+            w.write("    @Override public Map<String, Integer> listenerCounts(final BusState bs) {\n");
+            w.write("        final java.util.concurrent.atomic.AtomicIntegerArray c = ((State) bs).listenerCounts;\n");
+            w.write("        final Map<String, Integer> counts = new LinkedHashMap<>();\n");
+            w.write("        for (int i = 0; i < EVENT_NAMES.length; i++) { counts.put(EVENT_NAMES[i], c.get(i)); }\n");
+            w.write("        return counts;\n");
+            w.write("    }\n\n");
+
+            // A batch is only passed while many subscribers change at once, every bucket change is one call to keep registrations small.
+            w.write("    private static <I> void add(final BucketBatch batch, final Bucket<I> bucket, final I invoker, final int priority, final long id) {\n");
+            w.write("        if (batch != null) { batch.add(bucket, invoker, priority, id); } else { bucket.add(invoker, priority, id); }\n");
+            w.write("    }\n\n");
+            w.write("    private static <I> void remove(final BucketBatch batch, final Bucket<I> bucket, final I invoker, final int priority) {\n");
+            w.write("        if (batch != null) { batch.remove(bucket, invoker); } else { bucket.remove(invoker, priority); }\n");
+            w.write("    }\n\n");
+
+            w.write("    private static boolean includes(final int[] owners, final int owner) {\n");
+            w.write("        for (final int o : owners) { if (o == owner) { return true; } }\n");
+            w.write("        return false;\n");
+            w.write("    }\n\n");
+            w.write("    private static boolean includes(final long[] ids, final long id) {\n");
+            w.write("        for (final long i : ids) { if (i == id) { return true; } }\n");
+            w.write("        return false;\n");
+            w.write("    }\n\n");
+
+            w.write("    private static final class Composite implements Registration {\n");
+            w.write("        private final Registration[] parts;\n");
+            w.write("        Composite(final Registration[] parts) { this.parts = parts; }\n");
+            w.write("        @Override public Object key() { return parts[0].key(); }\n");
+            w.write("        @Override public Toggle toggle() { return parts[0].toggle(); }\n");
+            w.write("        @Override public void register(final BusState bs, final BucketBatch batch) { for (final Registration part : parts) { part.register(bs, batch); } }\n");
+            w.write("        @Override public void unregister(final BusState bs, final BucketBatch batch) { for (final Registration part : parts) { part.unregister(bs, batch); } }\n");
+            w.write("        @Override public void gate(final BusState bs) { for (final Registration part : parts) { part.gate(bs); } }\n");
+            w.write("    }\n\n");
+
+            for (final String owner : owners) {
+                emitRegistration(w, events, eventOrder, owner, overriders, overridable);
+            }
+
             for (final String eventFqn : eventOrder) {
                 final EventModel em = events.get(eventFqn);
-                emitEventDispatcher(w, em, providerDeclTypes, providerIds);
+                emitEventDispatcher(w, em, supertypes.get(em), providerDeclTypes, providerIds);
             }
 
             w.write("}\n");
@@ -469,6 +1017,7 @@ public final class EventListenerProcessor extends AbstractProcessor {
 
     private void emitEventDispatcher(final Writer w,
                                      final EventModel em,
+                                     final List<EventModel> supers,
                                      final LinkedHashMap<String, String> providerDeclTypes,
                                      final Map<String, Integer> providerIds) throws IOException {
         final String className = dispatcherClassName(em.eventFqn);
@@ -480,9 +1029,7 @@ public final class EventListenerProcessor extends AbstractProcessor {
             final String sig = key.signatureKey;
             final String iface = dispatcherInvokerInterfaceName(em.eventFqn, sig);
             final String baseName = bucketFieldBase(em.eventFqn, key);
-            w.write("            volatile " + iface + "[] " + baseName + " = null;\n");
-            w.write("            volatile int[] " + baseName + "_P = null;\n");
-            w.write("            volatile long[] " + baseName + "_I = null;\n");
+            w.write("            final Bucket<" + iface + "> " + baseName + " = new Bucket<>(new " + iface + "[0]);\n");
         }
 
         w.write("        }\n\n");
@@ -495,166 +1042,789 @@ public final class EventListenerProcessor extends AbstractProcessor {
             w.write("        interface " + iface + " { void invoke(final " + raw(em.eventFqn) + " event" + buildParamDeclsFromPlans(representative.paramPlans) + "); }\n");
         }
 
-        w.write("\n");
-
-        for (final BucketKey key : keys) {
-            final String sig = key.signatureKey;
+        // Invokers only check their toggle once they are swapped for a gated one, disabled invokers keep their place in the bucket.
+        for (final String sig : signatures) {
             final String iface = dispatcherInvokerInterfaceName(em.eventFqn, sig);
-            final String baseName = bucketFieldBase(em.eventFqn, key);
-            final String addName = dispatcherAddMethodName(em.eventFqn, key, sig);
-            final String removeName = dispatcherRemoveMethodName(em.eventFqn, key, sig);
-
-            w.write("        static Runnable " + addName + "(final RokitEventBus bus, final Store store, final Object subscriber, final int priority, final long id, final " + iface + " inv) {\n");
-            w.write("            synchronized (store) {\n");
-            w.write("                final " + iface + "[] prev = store." + baseName + ";\n");
-            w.write("                final int[] prevP = store." + baseName + "_P;\n");
-            w.write("                final long[] prevI = store." + baseName + "_I;\n");
-            w.write("                final int n = prev == null ? 0 : prev.length;\n");
-            w.write("                if (n != 0) {\n");
-            w.write("                    for (int i = 0; i < n; i++) {\n");
-            w.write("                        if (prevI[i] == id) {\n");
-            w.write("                            return new Runnable() { @Override public void run() { } };\n");
-            w.write("                        }\n");
-            w.write("                    }\n");
-            w.write("                }\n");
-            w.write("                final int pos = findInsertPos(prevP, n, priority);\n");
-            w.write("                final " + iface + "[] next = new " + iface + "[n + 1];\n");
-            w.write("                final int[] nextP = new int[n + 1];\n");
-            w.write("                final long[] nextI = new long[n + 1];\n");
-            w.write("                if (n != 0) {\n");
-            w.write("                    System.arraycopy(prev, 0, next, 0, pos);\n");
-            w.write("                    System.arraycopy(prevP, 0, nextP, 0, pos);\n");
-            w.write("                    System.arraycopy(prevI, 0, nextI, 0, pos);\n");
-            w.write("                    System.arraycopy(prev, pos, next, pos + 1, n - pos);\n");
-            w.write("                    System.arraycopy(prevP, pos, nextP, pos + 1, n - pos);\n");
-            w.write("                    System.arraycopy(prevI, pos, nextI, pos + 1, n - pos);\n");
-            w.write("                }\n");
-            w.write("                next[pos] = inv;\n");
-            w.write("                nextP[pos] = priority;\n");
-            w.write("                nextI[pos] = id;\n");
-            w.write("                store." + baseName + " = next;\n");
-            w.write("                store." + baseName + "_P = nextP;\n");
-            w.write("                store." + baseName + "_I = nextI;\n");
+            final String gated = gatedInvokerClassName(em.eventFqn, sig);
+            final ListenerModel representative = findListenerBySignature(em, sig);
+            w.write("        static final class " + gated + " implements " + iface + " {\n");
+            w.write("            private final " + iface + " invoker;\n");
+            w.write("            private final Toggle toggle;\n");
+            w.write("            " + gated + "(final " + iface + " invoker, final Toggle toggle) { this.invoker = invoker; this.toggle = toggle; }\n");
+            w.write("            @Override public void invoke(final " + raw(em.eventFqn) + " event" + buildParamDeclsFromPlans(representative.paramPlans) + ") {\n");
+            w.write("                if (toggle.isEnabled()) { invoker.invoke(event" + buildInvokerArgs(representative.paramPlans) + "); }\n");
             w.write("            }\n");
-            w.write("            return new Runnable() { @Override public void run() { " + removeName + "(store, inv); } };\n");
             w.write("        }\n");
+        }
 
-            w.write("        static void " + removeName + "(final Store store, final " + iface + " inv) {\n");
-            w.write("            synchronized (store) {\n");
-            w.write("                final " + iface + "[] prev = store." + baseName + ";\n");
-            w.write("                final int[] prevP = store." + baseName + "_P;\n");
-            w.write("                final long[] prevI = store." + baseName + "_I;\n");
-            w.write("                if (prev == null) { return; }\n");
-            w.write("                final int n = prev.length;\n");
-            w.write("                int idx = -1;\n");
-            w.write("                for (int i = 0; i < n; i++) { if (prev[i] == inv) { idx = i; break; } }\n");
-            w.write("                if (idx < 0) { return; }\n");
-            w.write("                if (n == 1) { store." + baseName + " = null; store." + baseName + "_P = null; store." + baseName + "_I = null; return; }\n");
-            w.write("                final " + iface + "[] next = new " + iface + "[n - 1];\n");
-            w.write("                final int[] nextP = new int[n - 1];\n");
-            w.write("                final long[] nextI = new long[n - 1];\n");
-            w.write("                System.arraycopy(prev, 0, next, 0, idx);\n");
-            w.write("                System.arraycopy(prevP, 0, nextP, 0, idx);\n");
-            w.write("                System.arraycopy(prevI, 0, nextI, 0, idx);\n");
-            w.write("                System.arraycopy(prev, idx + 1, next, idx, n - idx - 1);\n");
-            w.write("                System.arraycopy(prevP, idx + 1, nextP, idx, n - idx - 1);\n");
-            w.write("                System.arraycopy(prevI, idx + 1, nextI, idx, n - idx - 1);\n");
-            w.write("                store." + baseName + " = next;\n");
-            w.write("                store." + baseName + "_P = nextP;\n");
-            w.write("                store." + baseName + "_I = nextI;\n");
-            w.write("            }\n");
-            w.write("        }\n\n");
+        w.write("\n");
+
+        final List<PlanBucket> own = new ArrayList<>();
+        for (final BucketKey key : keys) {
+            own.add(new PlanBucket(em, key));
         }
 
-        w.write("        private static int findInsertPos(final int[] priorities, final int n, final int p) {\n");
-        w.write("            if (n == 0 || priorities == null) return 0;\n");
-        w.write("            int lo = 0, hi = n;\n");
-        w.write("            while (lo < hi) {\n");
-        w.write("                final int mid = (lo + hi) >>> 1;\n");
-        w.write("                final int mp = priorities[mid];\n");
-        w.write("                if (mp > p) lo = mid + 1; else hi = mid;\n");
-        w.write("            }\n");
-        w.write("            return lo;\n");
-        w.write("        }\n\n");
+        if (supers.isEmpty() && isSpecializable(own)) {
+            emitSpecializedDispatch(w, em, own.getFirst());
+        } else if (supers.isEmpty()) {
+            emitKeyedDispatchMethod(w, "dispatch", em, own);
+        } else {
+            final List<PlanBucket> merged = new ArrayList<>(own);
+            for (final EventModel sm : supers) {
+                for (final BucketKey key : sm.orderedBucketKeys()) {
+                    merged.add(new PlanBucket(sm, key));
+                }
+            }
+
+            emitKeyedDispatchMethod(w, "dispatch", em, merged);
+            emitKeyedDispatchMethod(w, "dispatchExact", em, own);
+        }
 
-        w.write("        static void dispatch(final RokitEventBus bus, final Store store, final " + raw(em.eventFqn) + " event) {\n");
+        w.write("    }\n");
+    }
+
+    // Only a single bucket without conditions or extra arguments can be linked as a plain chain of invokers.
+    private boolean isSpecializable(final List<PlanBucket> plan) {
+        if (!specialize || metrics || plan.size() != 1) {
+            return false;
+        }
+
+        final PlanBucket pb = plan.getFirst();
+        return pb.key.key == null && renderCondition(pb.key, pb.model.guardDeclaredTypes.keySet(), pb.model.extractors.keySet()).isEmpty() && pb.invokeArgs().isEmpty();
+    }
 
-        List<ListenerModel> allListeners = new ArrayList<>();
-        em.buckets.values().forEach(allListeners::addAll);
-        allListeners.sort(Comparator.comparingInt(ListenerModel::priority).reversed());
+    private void emitSpecializedDispatch(final Writer w, final EventModel em, final PlanBucket pb) throws IOException {
+        final String eventType = raw(em.eventFqn);
+        final boolean skipCancelled = isCancellable(em) && !pb.key.receiveCancelled;
+        final String bucket = "((State) state)" + pb.field().substring(1);
+        w.write("        private static final SpecializedSite SITE = new SpecializedSite(java.lang.invoke.MethodHandles.lookup(), \"dispatchLoop\", State.class, "
+                + eventType + ".class, " + dispatcherInvokerInterfaceName(em.eventFqn, pb.key.signatureKey) + ".class, " + skipCancelled + ", state -> " + bucket + ");\n");
+        w.write("        private static final java.lang.invoke.MethodHandle TARGET = SITE.dynamicInvoker();\n\n");
+        w.write("        static void dispatch(final RokitEventBus bus, final State s, final " + eventType + " event) {\n");
+        w.write("            try {\n");
+        w.write("                TARGET.invokeExact((Object) bus, (Object) s, (Object) event);\n");
+        w.write("            } catch (final Throwable t) {\n");
+        w.write("                throw SpecializedSite.rethrow(t);\n");
+        w.write("            }\n");
+        w.write("        }\n\n");
+        w.write("        static void dispatchBatch(final RokitEventBus bus, final State s, final Object[] events, final int from, final int to) {\n");
+        w.write("            dispatchLoopBatch(bus, s, events, from, to);\n");
+        w.write("        }\n\n");
+        w.write("        static long dispatchBand(final RokitEventBus bus, final State s, final " + eventType + " event, final int band) {\n");
+        w.write("            return dispatchLoopBand(bus, s, event, band);\n");
+        w.write("        }\n\n");
+        emitDispatchMethod(w, "dispatchLoop", em, List.of(pb));
+    }
 
-        final Set<String> allGuardsForEvent = new LinkedHashSet<>();
-        final Set<String> allExtractorsForEvent = new LinkedHashSet<>();
-        for (final ListenerModel listener : allListeners) {
-            for (final ParamPlan plan : listener.paramPlans) {
-                allGuardsForEvent.addAll(plan.guardBits);
-                for (final ParamBinder.Extractor ex : plan.extractors) {
-                    allExtractorsForEvent.add(ex.localName());
+    // One invoker class per listener method and one registration class per owner, so subscribing only allocates the invokers and their registration.
+    private void emitRegistration(final Writer w, final Map<String, EventModel> events, final List<String> eventOrder, final String owner,
+                                  final Map<ListenerModel, List<Integer>> overriders, final Set<ListenerModel> overridable) throws IOException {
+        final List<String> executorNames = collectExecutors(events, owner);
+        final List<ListenerModel> listeners = new ArrayList<>();
+        final List<String> buckets = new ArrayList<>();
+        for (final Map.Entry<String, EventModel> eventEntry : events.entrySet()) {
+            final String eventFqn = eventEntry.getKey();
+            final EventModel em = eventEntry.getValue();
+            for (final BucketKey bk : em.orderedBucketKeys()) {
+                for (final ListenerModel lm : em.buckets.get(bk)) {
+                    if (lm.ownerFqn.equals(owner)) {
+                        listeners.add(lm);
+                        buckets.add("s.store_" + sanitizeFqn(eventFqn) + "." + bucketFieldBase(eventFqn, bk));
+                    }
                 }
             }
         }
 
-        for (final String g : allGuardsForEvent) {
-            final String type = em.guardDeclaredTypes.get(g);
-            final String constName = sanitizeUpper(g);
-            w.write("            final " + type + " " + sanitizeLower(g) + " = " + genPkg + ".ProviderKeys." + constName + " >= 0 ? bus.<" + type + ">getProvider(" + genPkg + ".ProviderKeys." + constName + ") : null;\n");
+        // A listener with several keys sits in several buckets and shares one invoker between them.
+        final List<ListenerModel> invokers = new ArrayList<>(new LinkedHashSet<>(listeners));
+        for (final ListenerModel lm : invokers) {
+            emitListenerInvoker(w, lm, owner, false);
+            emitListenerInvoker(w, lm, owner, true);
         }
-        for (final String local : allExtractorsForEvent) {
-            final ExtractorModel ex = em.extractors.get(local);
-            if (ex != null) {
-                w.write("            final " + ex.declaredType + " " + ex.localName + " = " + ex.initExpression + ";\n");
-            }
+
+        final String className = registrationClassName(owner);
+        w.write("    private static final class " + className + " implements Registration {\n");
+        w.write("        private final Object key;\n");
+        w.write("        private final Toggle toggle;\n");
+        w.write("        private boolean gated;\n");
+        for (int i = 0; i < invokers.size(); i++) {
+            final ListenerModel lm = invokers.get(i);
+            w.write("        private " + dispatcherClassName(lm.eventFqn) + "." + dispatcherInvokerInterfaceName(lm.eventFqn, lm.signatureKey) + " invoker" + i + ";\n");
         }
 
-        for (final ListenerModel listener : allListeners) {
-            final BucketKey bk = new BucketKey(listener.conditionKey, listener.signatureKey);
-            final String condExpr = renderCondition(bk, em.guardDeclaredTypes.keySet(), em.extractors.keySet());
+        final StringBuilder params = new StringBuilder("final " + owner + " listener, final WeakSubscriber reference, final Toggle toggle"
+                + (isOverridden(owner, overriders) ? ", final int[] owners" : "") + (isOverridable(owner, overridable) ? ", final long[] overridden" : "")
+                + (executorNames.isEmpty() ? "" : ", final RokitEventBus bus"));
+        for (int i = 0; i < executorNames.size(); i++) {
+            params.append(", final java.util.concurrent.Executor executor").append(i);
+        }
 
-            w.write("            " + (condExpr.isEmpty() ? "" : "if (" + condExpr + ") ") + "{\n");
+        // Weak subscriptions get invokers that only hold the shared weak reference.
+        // A method overridden by a listener of a subclass the subscriber is an instance of is left to that subclass, it would be called twice otherwise.
+        // The subclass may be compiled into another registry, then its override is only known from the ids the bus passes in.
+        w.write("        " + className + "(" + params + ") {\n");
+        w.write("            key = reference == null ? listener : reference;\n");
+        w.write("            this.toggle = toggle;\n");
+        for (int i = 0; i < invokers.size(); i++) {
+            final ListenerModel lm = invokers.get(i);
+            final String executorArgs = lm.async ? ", bus, executor" + executorNames.indexOf(lm.executor) : "";
+            final List<String> skipped = new ArrayList<>();
+            for (final int o : overriders.getOrDefault(lm, List.of())) {
+                skipped.add("includes(owners, " + o + ")");
+            }
 
-            final String invokeArgs = buildInvokerArgs(listener.paramPlans);
-            final String iface = dispatcherInvokerInterfaceName(em.eventFqn, listener.signatureKey);
-            final String baseName = bucketFieldBase(em.eventFqn, bk);
+            if (overridable.contains(lm)) {
+                skipped.add("includes(overridden, " + stableId(lm.ownerFqn, lm.methodName, lm.eventFqn, lm.signatureKey) + "L)");
+            }
 
-            w.write("                {\n");
-            w.write("                    final " + iface + "[] local = store." + baseName + ";\n");
-            w.write("                    if (local != null) {\n");
-            w.write("                        for (int index = 0; index < local.length; index++) {\n");
-            w.write("                             if (store." + baseName + "_I[index] == " + stableId(listener.ownerFqn, listener.methodName, listener.eventFqn, listener.signatureKey) + "L) {\n");
-            w.write("                                 local[index].invoke(event" + invokeArgs + ");\n");
-            w.write("                                 break;\n");
-            w.write("                             }\n");
-            w.write("                        }\n");
-            w.write("                    }\n");
-            w.write("                }\n");
-            w.write("            }\n");
+            w.write("            invoker" + i + " = " + (skipped.isEmpty() ? "" : String.join(" || ", skipped) + " ? null : ") + "reference == null ? new " + listenerInvokerClassName(lm) + "(listener" + executorArgs + ") : new "
+                    + listenerInvokerClassName(lm) + "_Weak(reference" + executorArgs + ");\n");
+        }
+        // A subscription that follows a tag can be switched off at any time, so it is gated from the start.
+        w.write("            gated = toggle.isGrouped();\n");
+        w.write("            if (gated) {\n");
+        for (int i = 0; i < invokers.size(); i++) {
+            final ListenerModel lm = invokers.get(i);
+            final String wrap = "invoker" + i + " = new " + dispatcherClassName(lm.eventFqn) + "." + gatedInvokerClassName(lm.eventFqn, lm.signatureKey) + "(invoker" + i + ", toggle);";
+            w.write("                " + (optional(lm, overriders, overridable) ? "if (invoker" + i + " != null) { " + wrap + " }" : wrap) + "\n");
         }
+        w.write("            }\n");
+        w.write("        }\n");
 
+        w.write("        @Override public Object key() { return key; }\n");
+        w.write("        @Override public Toggle toggle() { return toggle; }\n");
+        w.write("        @Override public synchronized void register(final BusState bs, final BucketBatch batch) {\n");
+        if (!listeners.isEmpty()) {
+            w.write("            final State s = (State) bs;\n");
+        }
+        for (int i = 0; i < listeners.size(); i++) {
+            final ListenerModel lm = listeners.get(i);
+            final long sid = stableId(lm.ownerFqn, lm.methodName, lm.eventFqn, lm.signatureKey);
+            final int invoker = invokers.indexOf(lm);
+            final String add = "add(batch, " + buckets.get(i) + ", invoker" + invoker + ", " + lm.priority + ", " + sid + "L); s.listenerCounts.incrementAndGet(" + eventOrder.indexOf(lm.eventFqn) + ");";
+            w.write("            " + (optional(lm, overriders, overridable) ? "if (invoker" + invoker + " != null) { " + add + " }" : add.replace("; s.", ";\n            s.")) + "\n");
+        }
         w.write("        }\n");
-        w.write("    }\n");
-    }
 
-    private boolean isCandidateName(final String name) {
-        for (final String candidate : PAYLOAD_ACCESSOR_CANDIDATES) {
-            if (candidate.equals(name)) {
-                return true;
-            }
+        w.write("        @Override public synchronized void unregister(final BusState bs, final BucketBatch batch) {\n");
+        if (!listeners.isEmpty()) {
+            w.write("            final State s = (State) bs;\n");
         }
-        return false;
-    }
+        for (int i = 0; i < listeners.size(); i++) {
+            final ListenerModel lm = listeners.get(i);
+            final int invoker = invokers.indexOf(lm);
+            final String remove = "remove(batch, " + buckets.get(i) + ", invoker" + invoker + ", " + lm.priority + "); s.listenerCounts.decrementAndGet(" + eventOrder.indexOf(lm.eventFqn) + ");";
+            w.write("            " + (optional(lm, overriders, overridable) ? "if (invoker" + invoker + " != null) { " + remove + " }" : remove.replace("; s.", ";\n            s.")) + "\n");
+        }
+        w.write("        }\n");
 
-    private ExecutableElement findPayloadAccessor(final TypeElement eventElement) {
-        if (eventElement.getKind() == ElementKind.RECORD) {
-            for (RecordComponentElement component : eventElement.getRecordComponents()) {
-                if (isOrContainsTypeVar(component.asType())) {
-                    return component.getAccessor();
+        // A listener with several keys swaps its shared invoker in every bucket it sits in.
+        w.write("        @Override public synchronized void gate(final BusState bs) {\n");
+        w.write("            if (gated) { return; }\n");
+        w.write("            gated = true;\n");
+        if (!listeners.isEmpty()) {
+            w.write("            final State s = (State) bs;\n");
+        }
+        for (int i = 0; i < invokers.size(); i++) {
+            final ListenerModel lm = invokers.get(i);
+            final String dispatcher = dispatcherClassName(lm.eventFqn);
+            final boolean optional = optional(lm, overriders, overridable);
+            final String in = optional ? "                " : "            ";
+            if (optional) {
+                w.write("            if (invoker" + i + " != null) {\n");
+            }
+            w.write(in + "final " + dispatcher + "." + dispatcherInvokerInterfaceName(lm.eventFqn, lm.signatureKey) + " gated" + i
+                    + " = new " + dispatcher + "." + gatedInvokerClassName(lm.eventFqn, lm.signatureKey) + "(invoker" + i + ", toggle);\n");
+            for (int j = 0; j < listeners.size(); j++) {
+                if (listeners.get(j).equals(lm)) {
+                    w.write(in + buckets.get(j) + ".replace(invoker" + i + ", gated" + i + ", " + lm.priority + ");\n");
                 }
             }
+            w.write(in + "invoker" + i + " = gated" + i + ";\n");
+            if (optional) {
+                w.write("            }\n");
+            }
         }
+        w.write("        }\n");
+        w.write("    }\n\n");
+        checkMethodSize(className + ".<init>", 30 * listeners.size(), false);
+        checkMethodSize(className + ".register", 30 * listeners.size(), false);
+    }
 
-        for (final Element member : elements.getAllMembers(eventElement)) {
-            if (member.getKind() != ElementKind.METHOD || !(member instanceof ExecutableElement accessor)) {
-                continue;
+    private void emitListenerInvoker(final Writer w, final ListenerModel lm, final String owner, final boolean weak) throws IOException {
+        final String invokerInterface = dispatcherClassName(lm.eventFqn) + "." + dispatcherInvokerInterfaceName(lm.eventFqn, lm.signatureKey);
+        final String className = listenerInvokerClassName(lm) + (weak ? "_Weak" : "");
+        final String listenerType = weak ? "WeakSubscriber" : owner;
+        final String args = buildInvokerArgs(lm.paramPlans);
+        w.write("    private static final class " + className + " implements " + invokerInterface + " {\n");
+        w.write("        private final " + listenerType + " listener;\n");
+        if (lm.async) {
+            w.write("        private final RokitEventBus bus;\n");
+            w.write("        private final java.util.concurrent.Executor executor;\n");
+            w.write("        " + className + "(final " + listenerType + " listener, final RokitEventBus bus, final java.util.concurrent.Executor executor) { this.listener = listener; this.bus = bus; this.executor = executor; }\n");
+        } else {
+            w.write("        " + className + "(final " + listenerType + " listener) { this.listener = listener; }\n");
+        }
+
+        w.write("        @Override public void invoke(final " + raw(lm.eventFqn) + " event" + buildParamDeclsFromPlans(lm.paramPlans) + ") {\n");
+        String in = "            ";
+        String target = "listener";
+        if (weak) {
+            w.write("            final " + owner + " subscriber = (" + owner + ") listener.get();\n");
+            w.write("            if (subscriber != null) {\n");
+            in = "                ";
+            target = "subscriber";
+        }
+
+        if (lm.async) {
+            w.write(in + "bus.submitAsync(executor, () -> " + target + "." + lm.methodName + "((" + lm.eventFqn + ") event" + args + "));\n");
+        } else {
+            w.write(in + target + "." + lm.methodName + "((" + lm.eventFqn + ") event" + args + ");\n");
+        }
+
+        if (weak) {
+            w.write("            }\n");
+        }
+        w.write("        }\n");
+        w.write("    }\n\n");
+    }
+
+    private static String renderCountCheck(final List<EventModel> models, final List<String> eventOrder) {
+        final List<String> terms = new ArrayList<>();
+        for (final EventModel em : models) {
+            terms.add("c.get(" + eventOrder.indexOf(em.eventFqn) + ") != 0");
+        }
+
+        return String.join(" || ", terms);
+    }
+
+    // Specializations of a generic event are selected by the class of its payload.
+    private String renderPayloadDispatch(final int group, final String rawFqn, final ExecutableElement accessor, final List<EventModel> specializations,
+                                         final boolean band) {
+        final StringBuilder body = new StringBuilder("{\n");
+        body.append("                final ").append(rawFqn).append(" typedEvent = (").append(rawFqn).append(") event;\n");
+        body.append("                final Object payload = typedEvent.").append(accessor.getSimpleName()).append("();\n");
+        if (band) {
+            body.append("                long next = Registry.NO_PRIORITY;\n");
+        }
+
+        if (specializations.size() > PAYLOAD_CHAIN_LIMIT) {
+            body.append("                if (payload != null) {\n");
+            body.append("                    for (final int match : PAYLOADS_").append(group).append(".get(payload.getClass())) {\n");
+            body.append(band ? "                        next = Math.max(next, switch (match) {\n" : "                        switch (match) {\n");
+            for (int j = 0; j < specializations.size(); j++) {
+                final String dispatcher = dispatcherClassName(specializations.get(j).eventFqn);
+                body.append("                            case ").append(j).append(" -> ").append(dispatcher)
+                        .append(band ? ".dispatchBand(bus, s, typedEvent, band);\n" : ".dispatch(bus, s, typedEvent);\n");
+            }
+            body.append(band ? "                            default -> Registry.NO_PRIORITY;\n" : "                            default -> { }\n");
+            body.append(band ? "                        });\n" : "                        }\n");
+            body.append("                    }\n");
+            body.append("                }\n");
+        } else {
+            for (final EventModel em : specializations) {
+                final String dispatcher = dispatcherClassName(em.eventFqn);
+                body.append("                if (payload instanceof ").append(em.getGenericArgumentFqn()).append(") {\n");
+                body.append("                    ").append(band ? "next = Math.max(next, " + dispatcher + ".dispatchBand(bus, s, typedEvent, band));\n" : dispatcher + ".dispatch(bus, s, typedEvent);\n");
+                body.append("                }\n");
+            }
+        }
+
+        if (band) {
+            body.append("                return next;\n");
+        }
+
+        return body.append("            }").toString();
+    }
+
+    /**
+     * Emits a switch over {@code selector} as one method, or as a switch over groups of 16 cases that forwards to one helper per group,
+     * so a large listener set does not produce a method HotSpot refuses to compile.
+     * @param cases the rendered case bodies by label, an expression in expression mode, otherwise a statement or block.
+     * @param expression whether the switch is an expression whose value is returned.
+     */
+    private void emitSwitchMethod(final Writer w, final String annotations, final String modifiers, final String returnType, final String name,
+                                  final String params, final String args, final String preamble, final String selector,
+                                  final SortedMap<Integer, String> cases, final String fallback, final boolean expression) throws IOException {
+        final SortedMap<Integer, SortedMap<Integer, String>> groups = new TreeMap<>();
+        for (final Map.Entry<Integer, String> c : cases.entrySet()) {
+            groups.computeIfAbsent(c.getKey() >>> SWITCH_CHUNK_BITS, k -> new TreeMap<>()).put(c.getKey(), c.getValue());
+        }
+
+        if (cases.size() <= 1 << SWITCH_CHUNK_BITS) {
+            w.write(annotations);
+            w.write("    " + modifiers + " " + returnType + " " + name + "(" + params + ") {\n");
+            w.write(preamble);
+            emitSwitch(w, selector, cases, fallback, expression);
+            w.write("    }\n\n");
+            return;
+        }
+
+        final SortedMap<Integer, String> forwards = new TreeMap<>();
+        for (final Integer group : groups.keySet()) {
+            final String call = name + "_" + group + "(" + args + ")";
+            forwards.put(group, expression ? call : "void".equals(returnType) ? call + ";" : "{ return " + call + "; }");
+        }
+
+        w.write("    " + modifiers + " " + returnType + " " + name + "(" + params + ") {\n");
+        emitSwitch(w, selector + " >>> " + SWITCH_CHUNK_BITS, forwards, fallback, expression);
+        w.write("    }\n\n");
+        checkMethodSize(name, 16 * forwards.size(), true);
+
+        for (final Map.Entry<Integer, SortedMap<Integer, String>> group : groups.entrySet()) {
+            checkMethodSize(name + "_" + group.getKey(), 20 + 18 * group.getValue().size(), true);
+            w.write(annotations);
+            w.write("    private " + returnType + " " + name + "_" + group.getKey() + "(" + params + ") {\n");
+            w.write(preamble);
+            emitSwitch(w, selector, group.getValue(), fallback, expression);
+            w.write("    }\n\n");
+        }
+    }
+
+    private static void emitSwitch(final Writer w, final String selector, final SortedMap<Integer, String> cases, final String fallback, final boolean expression) throws IOException {
+        w.write("        " + (expression ? "return " : "") + "switch (" + selector + ") {\n");
+        for (final Map.Entry<Integer, String> c : cases.entrySet()) {
+            w.write("            case " + c.getKey() + " -> " + c.getValue() + (expression ? ";" : "") + "\n");
+        }
+        w.write("            default -> " + fallback + (expression ? ";" : "") + "\n");
+        w.write("        }" + (expression ? ";" : "") + "\n");
+    }
+
+    // A rough bytecode estimate, a warning beats a listener set that silently runs interpreted. Missed inlining is only worth a report.
+    private void checkMethodSize(final String method, final int estimate, final boolean hot) {
+        if (estimate > HUGE_METHOD_LIMIT) {
+            messager.printMessage(Diagnostic.Kind.WARNING, String.format(
+                    "Rokit: generated %s is about %d bytes of bytecode, HotSpot does not compile methods above %d bytes.", method, estimate, HUGE_METHOD_LIMIT));
+        } else if (report && hot && estimate > FREQ_INLINE_SIZE) {
+            messager.printMessage(Diagnostic.Kind.WARNING, String.format(
+                    "Rokit: generated %s is about %d bytes of bytecode, HotSpot does not inline methods above %d bytes into hot callers.", method, estimate, FREQ_INLINE_SIZE));
+        }
+    }
+
+    // Keyed buckets are split by a switch on the event key, every key gets a dispatcher over its own buckets and the unkeyed ones.
+    private void emitKeyedDispatchMethod(final Writer w, final String name, final EventModel em, final List<PlanBucket> plan) throws IOException {
+        final TreeSet<Integer> keys = new TreeSet<>();
+        final List<PlanBucket> unkeyed = new ArrayList<>();
+        for (final PlanBucket pb : plan) {
+            if (pb.key.key == null) {
+                unkeyed.add(pb);
+            } else {
+                keys.add(pb.key.key);
+            }
+        }
+
+        if (keys.isEmpty()) {
+            emitDispatchMethod(w, name, em, plan);
+            return;
+        }
+
+        final String eventType = raw(em.eventFqn);
+        final List<String> cases = new ArrayList<>();
+        int index = 0;
+        for (final Integer key : keys) {
+            final List<PlanBucket> keyed = new ArrayList<>(unkeyed);
+            for (final PlanBucket pb : plan) {
+                if (key.equals(pb.key.key)) {
+                    keyed.add(pb);
+                }
+            }
+
+            emitDispatchMethod(w, name + "Key" + index, em, keyed);
+            w.write("\n");
+            cases.add("                case " + key + " -> " + name + "Key" + index++);
+        }
+
+        if (!unkeyed.isEmpty()) {
+            emitDispatchMethod(w, name + "Unkeyed", em, unkeyed);
+            w.write("\n");
+        }
+
+        final String fallback = unkeyed.isEmpty() ? null : name + "Unkeyed";
+        checkMethodSize(dispatcherClassName(em.eventFqn) + "." + name, 20 + 14 * cases.size(), true);
+        w.write("        static void " + name + "(final RokitEventBus bus, final State s, final " + eventType + " event) {\n");
+        w.write("            switch (event.key()) {\n");
+        for (final String c : cases) {
+            w.write(c + "(bus, s, event);\n");
+        }
+        w.write("                default -> " + (fallback == null ? "{ }" : fallback + "(bus, s, event);") + "\n");
+        w.write("            }\n");
+        w.write("        }\n\n");
+
+        w.write("        static long " + name + "Band(final RokitEventBus bus, final State s, final " + eventType + " event, final int band) {\n");
+        w.write("            return switch (event.key()) {\n");
+        for (final String c : cases) {
+            w.write(c + "Band(bus, s, event, band);\n");
+        }
+        w.write("                default -> " + (fallback == null ? "Registry.NO_PRIORITY;" : fallback + "Band(bus, s, event, band);") + "\n");
+        w.write("            };\n");
+        w.write("        }\n\n");
+
+        // Runs of events with the same key are dispatched as one batch.
+        w.write("        static void " + name + "Batch(final RokitEventBus bus, final State s, final Object[] events, final int from, final int to) {\n");
+        w.write("            int start = from;\n");
+        w.write("            while (start < to) {\n");
+        w.write("                final int key = ((" + eventType + ") events[start]).key();\n");
+        w.write("                int end = start + 1;\n");
+        w.write("                while (end < to && ((" + eventType + ") events[end]).key() == key) { end++; }\n");
+        w.write("                switch (key) {\n");
+        for (final String c : cases) {
+            w.write("    " + c + "Batch(bus, s, events, start, end);\n");
+        }
+        w.write("                    default -> " + (fallback == null ? "{ }" : fallback + "Batch(bus, s, events, start, end);") + "\n");
+        w.write("                }\n");
+        w.write("                start = end;\n");
+        w.write("            }\n");
+        w.write("        }\n");
+    }
+
+    private void emitDispatchMethod(final Writer w, final String name, final EventModel em, final List<PlanBucket> plan) throws IOException {
+        final int conditions = new HashSet<>(plan.stream().flatMap(pb -> java.util.stream.Stream.concat(conditionGuards(pb.key).stream(), conditionExtractors(pb.key).stream())).toList()).size();
+        checkMethodSize(dispatcherClassName(em.eventFqn) + "." + name, plan.size() == 1 ? 60 + 25 * conditions : 40 + 95 * plan.size() + 35 * conditions, true);
+        w.write("        static void " + name + "(final RokitEventBus bus, final State s, final " + raw(em.eventFqn) + " event) {\n");
+        if (metrics) {
+            w.write("            final bot.staro.rokit.DispatchMetrics metrics = bus.metrics();\n");
+            w.write("            metrics.recordPost(" + fnv1a(em.eventFqn) + "L, " + javaString(em.eventFqn) + ");\n");
+        }
+
+        emitDispatchBody(w, em, plan, false, false);
+        w.write("        }\n\n");
+
+        // Runs only the listeners of one priority and returns the next lower priority, see Registry#dispatchBand.
+        w.write("        static long " + name + "Band(final RokitEventBus bus, final State s, final " + raw(em.eventFqn) + " event, final int band) {\n");
+        if (metrics) {
+            w.write("            final bot.staro.rokit.DispatchMetrics metrics = bus.metrics();\n");
+        }
+
+        emitDispatchBody(w, em, plan, false, true);
+        w.write("        }\n\n");
+
+        // Every event of a batch has the same runtime class, so snapshots and providers are loaded once for the whole batch.
+        w.write("        static void " + name + "Batch(final RokitEventBus bus, final State s, final Object[] events, final int from, final int to) {\n");
+        if (metrics) {
+            w.write("            int eventIndex = from;\n");
+            w.write("            try {\n");
+            w.write("                for (; eventIndex < to; eventIndex++) { " + name + "(bus, s, (" + raw(em.eventFqn) + ") events[eventIndex]); }\n");
+            w.write("            } catch (final Throwable t) {\n");
+            w.write("                throw BatchFailure.at(eventIndex, t);\n");
+            w.write("            }\n");
+        } else {
+            emitDispatchBody(w, em, plan, true, false);
+        }
+
+        w.write("        }\n");
+    }
+
+    private void emitDispatchBody(final Writer w, final EventModel em, final List<PlanBucket> plan, final boolean batch, final boolean band) throws IOException {
+        final boolean cancellable = isCancellable(em);
+        final String in = batch ? "                " : "            ";
+        final String done = band ? "return Registry.NO_PRIORITY;" : "return;";
+        final String exit = batch ? "continue events;" : done;
+        if (plan.size() == 1) {
+            final PlanBucket pb = plan.getFirst();
+            final String condExpr = renderCondition(pb.key, pb.model.guardDeclaredTypes.keySet(), pb.model.extractors.keySet());
+            final boolean perEvent = !batch || !conditionExtractors(pb.key).isEmpty();
+            final String iface = pb.invokerType();
+            w.write("            final Bucket.Snapshot<" + iface + "> snapshot = " + pb.field() + ".snapshot();\n");
+            w.write("            if (snapshot == null) { " + done + " }\n");
+            emitBucketLocals(w, em, plan, null, "            ", true, !batch);
+            if (!condExpr.isEmpty() && !perEvent) {
+                w.write("            if (!(" + condExpr + ")) { return; }\n");
+            }
+
+            w.write("            final " + iface + "[] local = snapshot.invokers;\n");
+            if (band) {
+                w.write("            final int[] priorities = snapshot.priorities;\n");
+            }
+            if (metrics) {
+                w.write("            final long[] ids = snapshot.ids;\n");
+            }
+
+            if (batch) {
+                emitEventLoop(w, em, (!condExpr.isEmpty() && perEvent) || (cancellable && !pb.key.receiveCancelled));
+                emitBucketLocals(w, em, plan, null, in, false, true);
+            }
+
+            if (!condExpr.isEmpty() && perEvent) {
+                w.write(in + "if (!(" + condExpr + ")) { " + exit + " }\n");
+            }
+
+            w.write(in + "for (int index = 0; index < local.length; index++) {\n");
+            if (band) {
+                w.write(in + "    if (priorities[index] > band) { continue; }\n");
+                w.write(in + "    if (priorities[index] < band) { return priorities[index]; }\n");
+            }
+            if (cancellable && !pb.key.receiveCancelled) {
+                w.write(in + "    if (event.isCancelled()) { " + exit + " }\n");
+            }
+            if (metrics) {
+                w.write(in + "    final long start = System.nanoTime();\n");
+                w.write(in + "    local[index].invoke(event" + pb.invokeArgs() + ");\n");
+                w.write(in + "    metrics.recordInvocation(ids[index], System.nanoTime() - start);\n");
+            } else {
+                w.write(in + "    local[index].invoke(event" + pb.invokeArgs() + ");\n");
+            }
+            w.write(in + "}\n");
+            if (batch) {
+                emitEventLoopEnd(w);
+            }
+            if (band) {
+                w.write("            " + done + "\n");
+            }
+        } else {
+            emitPriorityMerge(w, em, plan, cancellable, batch, band);
+        }
+    }
+
+    // A listener that throws is reported with the index of its event, so a draining bus keeps the events after it.
+    private static void emitEventLoop(final Writer w, final EventModel em, final boolean labeled) throws IOException {
+        w.write("            int eventIndex = from;\n");
+        w.write("            try {\n");
+        w.write("            " + (labeled ? "events: " : "") + "for (; eventIndex < to; eventIndex++) {\n");
+        w.write("                final " + raw(em.eventFqn) + " event = (" + raw(em.eventFqn) + ") events[eventIndex];\n");
+    }
+
+    private static void emitEventLoopEnd(final Writer w) throws IOException {
+        w.write("            }\n");
+        w.write("            } catch (final Throwable t) {\n");
+        w.write("                throw BatchFailure.at(eventIndex, t);\n");
+        w.write("            }\n");
+    }
+
+    // Provider and extractor locals are only resolved when a bucket that needs them has subscribers.
+    // Providers do not depend on the event, batch dispatchers resolve them apart from the per-event extractors.
+    private void emitBucketLocals(final Writer w, final EventModel em, final List<PlanBucket> plan, final List<String> presence,
+                                  final String in, final boolean withGuards, final boolean withExtractors) throws IOException {
+        final Map<String, String> guards = new LinkedHashMap<>();
+        final Map<String, ExtractorModel> extractors = new LinkedHashMap<>();
+        for (final PlanBucket pb : plan) {
+            if (withGuards) {
+                for (final String g : conditionGuards(pb.key)) {
+                    guards.putIfAbsent(g, pb.model.guardDeclaredTypes.get(g));
+                }
+            }
+
+            if (withExtractors) {
+                for (final String x : conditionExtractors(pb.key)) {
+                    final ExtractorModel ex = pb.model.extractors.get(x);
+                    final ExtractorModel prev = ex == null ? null : extractors.putIfAbsent(x, ex);
+                    if (prev != null && !prev.equals(ex)) {
+                        error(null, "Extractor '%s' of %s differs from the one of its listened supertype.", x, plan.getFirst().model.eventFqn);
+                    }
+                }
+            }
+        }
+
+        final boolean timed = metrics && (!guards.isEmpty() || !extractors.isEmpty());
+        if (timed) {
+            w.write(in + "final long providerStart = System.nanoTime();\n");
+        }
+
+        for (final Map.Entry<String, String> g : guards.entrySet()) {
+            final String type = g.getValue();
+            // Slots of the provider table the bus resolved for this registry when it was built.
+            final int slot = providerSlots.get(g.getKey());
+            final String gate = renderGate(plan, presence, pb -> conditionGuards(pb.key).contains(g.getKey()));
+            final String lookup = "bus.<" + type + ">getProvider(s.providers, " + slot + ")";
+            w.write(in + "final " + type + " " + sanitizeLower(g.getKey()) + " = " + (gate.isEmpty() ? lookup : gate + " ? " + lookup + " : null") + ";\n");
+        }
+
+        for (final ExtractorModel ex : extractors.values()) {
+            final String gate = renderGate(plan, presence, pb -> conditionExtractors(pb.key).contains(ex.localName));
+            w.write(in + "final " + ex.declaredType + " " + ex.localName + " = " + (gate.isEmpty() ? ex.initExpression : gate + " ? " + ex.initExpression + " : null") + ";\n");
+        }
+
+        if (timed) {
+            w.write(in + "metrics.recordProviders(" + fnv1a(em.eventFqn) + "L, " + javaString(em.eventFqn) + ", System.nanoTime() - providerStart);\n");
+        }
+    }
+
+    private static String renderGate(final List<PlanBucket> plan, final List<String> presence, final java.util.function.Predicate<PlanBucket> uses) {
+        if (presence == null) {
+            return "";
+        }
+
+        final List<String> terms = new ArrayList<>();
+        for (int b = 0; b < plan.size(); b++) {
+            if (uses.test(plan.get(b))) {
+                terms.add(presence.get(b));
+            }
+        }
+
+        return "(" + String.join(" || ", terms) + ")";
+    }
+
+    // Buckets are sorted by priority on their own, so several buckets of one event are walked as a k-way merge.
+    private void emitPriorityMerge(final Writer w, final EventModel em, final List<PlanBucket> plan, final boolean cancellable, final boolean batch,
+                                   final boolean band) throws IOException {
+        final String in = batch ? "                " : "            ";
+        final String exit = batch ? "continue events;" : band ? "return Registry.NO_PRIORITY;" : "return;";
+        final List<String> presence = new ArrayList<>();
+        for (int b = 0; b < plan.size(); b++) {
+            final PlanBucket pb = plan.get(b);
+            w.write("            final Bucket.Snapshot<" + pb.invokerType() + "> s" + b + " = " + pb.field() + ".snapshot();\n");
+            presence.add("s" + b + " != null");
+        }
+
+        emitBucketLocals(w, em, plan, presence, "            ", true, !batch);
+        for (int b = 0; b < plan.size(); b++) {
+            final PlanBucket pb = plan.get(b);
+            w.write("            final " + pb.invokerType() + "[] b" + b + " = s" + b + " == null ? null : s" + b + ".invokers;\n");
+            w.write("            final int[] p" + b + " = s" + b + " == null ? null : s" + b + ".priorities;\n");
+            if (metrics) {
+                w.write("            final long[] d" + b + " = s" + b + " == null ? null : s" + b + ".ids;\n");
+            }
+        }
+
+        if (batch) {
+            emitEventLoop(w, em, true);
+            emitBucketLocals(w, em, plan, presence, in, false, true);
+        }
+
+        for (int b = 0; b < plan.size(); b++) {
+            final PlanBucket pb = plan.get(b);
+            final String condExpr = renderCondition(pb.key, pb.model.guardDeclaredTypes.keySet(), pb.model.extractors.keySet());
+            w.write(in + (cancellable && !pb.key.receiveCancelled ? "" : "final ") + "int n" + b + " = s" + b + " == null" + (condExpr.isEmpty() ? "" : " || !(" + condExpr + ")") + " ? 0 : b" + b + ".length;\n");
+            w.write(in + "int i" + b + " = 0;\n");
+        }
+
+        w.write(in + "while (true) {\n");
+        if (cancellable) {
+            // Once cancelled, buckets that do not receive cancelled events are exhausted.
+            final List<String> skipped = new ArrayList<>();
+            for (int b = 0; b < plan.size(); b++) {
+                if (!plan.get(b).key.receiveCancelled) {
+                    skipped.add("n" + b + " = 0;");
+                }
+            }
+
+            if (skipped.size() == plan.size()) {
+                w.write(in + "    if (event.isCancelled()) { " + exit + " }\n");
+            } else if (!skipped.isEmpty()) {
+                w.write(in + "    if (event.isCancelled()) { " + String.join(" ", skipped) + " }\n");
+            }
+        }
+
+        w.write(in + "    int next = -1;\n");
+        w.write(in + "    int best = 0;\n");
+        for (int b = 0; b < plan.size(); b++) {
+            w.write(in + "    if (i" + b + " < n" + b + (b == 0 ? "" : " && (next < 0 || p" + b + "[i" + b + "] > best)") + ") { next = " + b + "; best = p" + b + "[i" + b + "]; }\n");
+        }
+
+        if (band) {
+            // Listeners above the band already ran in an earlier band, the first one below it starts the next band.
+            w.write(in + "    if (next >= 0 && best < band) { return best; }\n");
+            w.write(in + "    switch (next) {\n");
+            for (int b = 0; b < plan.size(); b++) {
+                w.write(in + "        case " + b + " -> {\n");
+                w.write(in + "            if (best == band) {\n");
+                if (metrics) {
+                    w.write(in + "                final long start = System.nanoTime();\n");
+                    w.write(in + "                b" + b + "[i" + b + "].invoke(event" + plan.get(b).invokeArgs() + ");\n");
+                    w.write(in + "                metrics.recordInvocation(d" + b + "[i" + b + "], System.nanoTime() - start);\n");
+                } else {
+                    w.write(in + "                b" + b + "[i" + b + "].invoke(event" + plan.get(b).invokeArgs() + ");\n");
+                }
+                w.write(in + "            }\n");
+                w.write(in + "            i" + b + "++;\n");
+                w.write(in + "        }\n");
+            }
+            w.write(in + "        default -> { " + exit + " }\n");
+            w.write(in + "    }\n");
+            w.write(in + "}\n");
+            return;
+        }
+
+        w.write(in + "    switch (next) {\n");
+        for (int b = 0; b < plan.size(); b++) {
+            if (metrics) {
+                w.write(in + "        case " + b + " -> {\n");
+                w.write(in + "            final long start = System.nanoTime();\n");
+                w.write(in + "            b" + b + "[i" + b + "].invoke(event" + plan.get(b).invokeArgs() + ");\n");
+                w.write(in + "            metrics.recordInvocation(d" + b + "[i" + b + "++], System.nanoTime() - start);\n");
+                w.write(in + "        }\n");
+            } else {
+                w.write(in + "        case " + b + " -> b" + b + "[i" + b + "++].invoke(event" + plan.get(b).invokeArgs() + ");\n");
+            }
+        }
+        w.write(in + "        default -> { " + exit + " }\n");
+        w.write(in + "    }\n");
+        w.write(in + "}\n");
+        if (batch) {
+            emitEventLoopEnd(w);
+        }
+    }
+
+    private boolean isCancellable(final EventModel em) {
+        final Types types = processingEnv.getTypeUtils();
+        final TypeElement element = elements.getTypeElement(raw(em.eventFqn));
+        final TypeElement cancellable = elements.getTypeElement("bot.staro.rokit.Cancellable");
+        return element != null && cancellable != null && types.isAssignable(types.erasure(element.asType()), cancellable.asType());
+    }
+
+    private Map<EventModel, List<EventModel>> collectSupertypes(final Map<String, List<EventModel>> eventsByRawType) {
+        final Types types = processingEnv.getTypeUtils();
+        final Map<EventModel, List<EventModel>> supertypes = new IdentityHashMap<>();
+        for (final List<EventModel> group : eventsByRawType.values()) {
+            for (final EventModel em : group) {
+                supertypes.put(em, new ArrayList<>());
+            }
+
+            if (isGenericGroup(group)) {
+                continue;
+            }
+
+            final EventModel em = group.getFirst();
+            final TypeElement element = elements.getTypeElement(raw(em.eventFqn));
+            for (final List<EventModel> other : eventsByRawType.values()) {
+                final EventModel candidate = other.getFirst();
+                if (candidate == em || isGenericGroup(other)) {
+                    continue;
+                }
+
+                final TypeElement superElement = elements.getTypeElement(raw(candidate.eventFqn));
+                if (element != null && superElement != null && types.isSubtype(types.erasure(element.asType()), types.erasure(superElement.asType()))) {
+                    supertypes.get(em).add(candidate);
+                }
+            }
+        }
+
+        return supertypes;
+    }
+
+    private static Map<String, List<EventModel>> groupByRawType(final Map<String, EventModel> events) {
+        final Map<String, List<EventModel>> eventsByRawType = new LinkedHashMap<>();
+        for (final EventModel em : events.values()) {
+            eventsByRawType.computeIfAbsent(raw(em.eventFqn), k -> new ArrayList<>()).add(em);
+        }
+
+        return eventsByRawType;
+    }
+
+    private static boolean isGenericGroup(final List<EventModel> group) {
+        return group.size() != 1 || group.getFirst().isGeneric();
+    }
+
+    private boolean isCandidateName(final String name) {
+        for (final String candidate : PAYLOAD_ACCESSOR_CANDIDATES) {
+            if (candidate.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ExecutableElement findPayloadAccessor(final TypeElement eventElement) {
+        if (eventElement.getKind() == ElementKind.RECORD) {
+            for (RecordComponentElement component : eventElement.getRecordComponents()) {
+                if (isOrContainsTypeVar(component.asType())) {
+                    return component.getAccessor();
+                }
+            }
+        }
+
+        for (final Element member : elements.getAllMembers(eventElement)) {
+            if (member.getKind() != ElementKind.METHOD || !(member instanceof ExecutableElement accessor)) {
+                continue;
             }
             if (!isCandidateName(accessor.getSimpleName().toString()) || !accessor.getModifiers().contains(Modifier.PUBLIC) || !accessor.getParameters().isEmpty()) {
                 continue;
@@ -684,6 +1854,18 @@ public final class EventListenerProcessor extends AbstractProcessor {
         return fqn.replaceAll("[^A-Za-z0-9_.]", "_").replace('.', '_');
     }
 
+    private static String registrationClassName(final String ownerFqn) {
+        return "Registration_" + sanitizeFqn(ownerFqn);
+    }
+
+    private static String registerMethodName(final String ownerFqn) {
+        return "register_" + sanitizeFqn(ownerFqn);
+    }
+
+    private static String listenerInvokerClassName(final ListenerModel lm) {
+        return "Invoke_" + sanitizeFqn(lm.ownerFqn) + "_" + lm.methodName + "_" + Long.toHexString(stableId(lm.ownerFqn, lm.methodName, lm.eventFqn, lm.signatureKey));
+    }
+
     private static String dispatcherClassName(final String eventFqn) {
         return "Dispatch_" + sanitizeFqn(eventFqn);
     }
@@ -692,12 +1874,8 @@ public final class EventListenerProcessor extends AbstractProcessor {
         return "Invoker_" + Long.toHexString(fnv1a(eventFqn + "##" + signatureKey));
     }
 
-    private static String dispatcherAddMethodName(final String eventFqn, final BucketKey key, final String sig) {
-        return "add_" + Long.toHexString(fnv1a(eventFqn + "##" + key.toString() + "##" + sig));
-    }
-
-    private static String dispatcherRemoveMethodName(final String eventFqn, final BucketKey key, final String sig) {
-        return "remove_" + Long.toHexString(fnv1a(eventFqn + "##" + key.toString() + "##" + sig));
+    private static String gatedInvokerClassName(final String eventFqn, final String signatureKey) {
+        return "Gated_" + Long.toHexString(fnv1a(eventFqn + "##" + signatureKey));
     }
 
     private static String bucketFieldBase(final String eventFqn, final BucketKey key) {
@@ -760,30 +1938,40 @@ public final class EventListenerProcessor extends AbstractProcessor {
 
 
     private static String renderCondition(final BucketKey key, final Set<String> allGuards, final Set<String> allExtractors) {
-        final int gi = key.conditionKey.indexOf("G:");
-        final int xi = key.conditionKey.indexOf(";X:");
-        final String guards = gi >= 0 && xi > gi ? key.conditionKey.substring(gi + 2, xi) : "";
-        final String exts = xi >= 0 ? key.conditionKey.substring(xi + 3) : "";
         final List<String> terms = new ArrayList<>();
-        if (!guards.isEmpty()) {
-            for (final String g : guards.split(",")) {
-                if (!g.isEmpty()) {
-                    terms.add(sanitizeLower(g) + " != null");
-                }
-            }
+        for (final String g : conditionGuards(key)) {
+            terms.add(sanitizeLower(g) + " != null");
         }
 
-        if (!exts.isEmpty()) {
-            for (final String x : exts.split(",")) {
-                if (!x.isEmpty()) {
-                    terms.add(x + " != null");
-                }
-            }
+        for (final String x : conditionExtractors(key)) {
+            terms.add(x + " != null");
         }
 
         return String.join(" && ", terms);
     }
 
+    private static List<String> conditionGuards(final BucketKey key) {
+        final int gi = key.conditionKey.indexOf("G:");
+        final int xi = key.conditionKey.indexOf(";X:");
+        return splitNames(gi >= 0 && xi > gi ? key.conditionKey.substring(gi + 2, xi) : "");
+    }
+
+    private static List<String> conditionExtractors(final BucketKey key) {
+        final int xi = key.conditionKey.indexOf(";X:");
+        return splitNames(xi >= 0 ? key.conditionKey.substring(xi + 3) : "");
+    }
+
+    private static List<String> splitNames(final String joined) {
+        final List<String> names = new ArrayList<>();
+        for (final String name : joined.split(",")) {
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+
+        return names;
+    }
+
     private static String paramVarName(final ParamPlan p) {
         final String expr = p.argExpr.trim();
         if (expr.matches("[a-zA-Z_][a-zA-Z0-9_]*")) {
@@ -813,6 +2001,10 @@ public final class EventListenerProcessor extends AbstractProcessor {
         return Character.toLowerCase(s.charAt(0)) + s.substring(1);
     }
 
+    private static String javaString(final String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
     private static String nonNull(final String value, final String label) {
         if (value == null) {
             throw new IllegalStateException(label + " is null");
@@ -847,6 +2039,44 @@ public final class EventListenerProcessor extends AbstractProcessor {
         return 0;
     }
 
+    private static String extractAttribute(final ExecutableElement element, final TypeElement annotation, final String name, final String defaultValue) {
+        for (final AnnotationMirror am : element.getAnnotationMirrors()) {
+            if (am.getAnnotationType().asElement().equals(annotation)) {
+                for (final var ev : am.getElementValues().entrySet()) {
+                    if (name.contentEquals(ev.getKey().getSimpleName())) {
+                        return ev.getValue().getValue().toString();
+                    }
+                }
+            }
+        }
+
+        return defaultValue;
+    }
+
+    private static List<Integer> extractKeys(final ExecutableElement element, final TypeElement annotation) {
+        final TreeSet<Integer> keys = new TreeSet<>();
+        for (final AnnotationMirror am : element.getAnnotationMirrors()) {
+            if (am.getAnnotationType().asElement().equals(annotation)) {
+                for (final var ev : am.getElementValues().entrySet()) {
+                    if ("key".contentEquals(ev.getKey().getSimpleName()) && ev.getValue().getValue() instanceof List<?> values) {
+                        for (final Object value : values) {
+                            keys.add(((Number) ((AnnotationValue) value).getValue()).intValue());
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(keys);
+    }
+
+    private boolean isKeyed(final String eventFqn) {
+        final Types types = processingEnv.getTypeUtils();
+        final TypeElement element = elements.getTypeElement(raw(eventFqn));
+        final TypeElement keyed = elements.getTypeElement("bot.staro.rokit.Keyed");
+        return element != null && keyed != null && types.isAssignable(types.erasure(element.asType()), keyed.asType());
+    }
+
     private static long stableId(final String ownerFqn, final String methodName, final String eventFqn, final String signatureKey) {
         final String s = ownerFqn + "#" + methodName + "(" + eventFqn + "|" + signatureKey + ")";
         long h = 0xcbf29ce484222325L;
@@ -871,6 +2101,184 @@ public final class EventListenerProcessor extends AbstractProcessor {
         return new ArrayList<>(owners);
     }
 
+    /**
+     * @return for every listener method that is overridden by a listener method of another listener class, the indices of those classes.
+     */
+    private Map<ListenerModel, List<Integer>> collectOverriders(final Map<String, EventModel> events, final List<String> owners) {
+        final Types types = processingEnv.getTypeUtils();
+        final Map<ListenerModel, List<Integer>> overriders = new HashMap<>();
+        for (final String base : owners) {
+            final TypeElement baseElement = elements.getTypeElement(base);
+            for (int o = 0; o < owners.size(); o++) {
+                final TypeElement subElement = elements.getTypeElement(owners.get(o));
+                if (base.equals(owners.get(o)) || baseElement == null || subElement == null
+                        || !types.isSubtype(types.erasure(subElement.asType()), types.erasure(baseElement.asType()))) {
+                    continue;
+                }
+
+                for (final ListenerModel lm : ownerListeners(events, base)) {
+                    final ExecutableElement overridden = listenerMethod(baseElement, lm);
+                    for (final ListenerModel sub : ownerListeners(events, owners.get(o))) {
+                        final ExecutableElement overrider = listenerMethod(subElement, sub);
+                        if (overridden != null && overrider != null && elements.overrides(overrider, overridden, subElement)) {
+                            overriders.computeIfAbsent(lm, k -> new ArrayList<>()).add(o);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        return overriders;
+    }
+
+    private static ExecutableElement listenerMethod(final TypeElement owner, final ListenerModel lm) {
+        for (final Element e : owner.getEnclosedElements()) {
+            if (e instanceof ExecutableElement method && method.getKind() == ElementKind.METHOD && method.getSimpleName().contentEquals(lm.methodName)
+                    && !method.getParameters().isEmpty() && method.getParameters().getFirst().asType().toString().equals(lm.eventFqn)) {
+                final List<String> rest = new ArrayList<>();
+                for (int i = 1; i < method.getParameters().size(); i++) {
+                    rest.add(raw(method.getParameters().get(i).asType().toString()));
+                }
+
+                if (String.join("|", rest).equals(lm.signatureKey)) {
+                    return method;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the listener methods a subclass compiled into another registry could override, those of non-final methods of non-final classes.
+     */
+    private Set<ListenerModel> collectOverridable(final Map<String, EventModel> events, final List<String> owners) {
+        final Set<ListenerModel> overridable = new HashSet<>();
+        for (final String owner : owners) {
+            final TypeElement ownerElement = elements.getTypeElement(owner);
+            if (ownerElement == null || ownerElement.getModifiers().contains(Modifier.FINAL)) {
+                continue;
+            }
+
+            for (final ListenerModel lm : ownerListeners(events, owner)) {
+                final ExecutableElement method = listenerMethod(ownerElement, lm);
+                if (method != null && !method.getModifiers().contains(Modifier.FINAL) && !method.getModifiers().contains(Modifier.STATIC)) {
+                    overridable.add(lm);
+                }
+            }
+        }
+
+        return overridable;
+    }
+
+    /**
+     * @return for every listener class, the ids of the methods of its supertypes outside this registry that its listener methods override.
+     */
+    private Map<String, Set<Long>> collectExternalOverrides(final Map<String, EventModel> events, final List<String> owners) {
+        final Map<String, Set<Long>> overrides = new HashMap<>();
+        for (final String owner : owners) {
+            final TypeElement ownerElement = elements.getTypeElement(owner);
+            if (ownerElement == null) {
+                continue;
+            }
+
+            final Set<TypeElement> supertypes = new LinkedHashSet<>();
+            collectSupertypes(ownerElement, supertypes);
+            for (final TypeElement supertype : supertypes) {
+                final String superFqn = supertype.getQualifiedName().toString();
+                if (owners.contains(superFqn)) {
+                    continue;
+                }
+
+                for (final Element e : supertype.getEnclosedElements()) {
+                    if (!(e instanceof ExecutableElement overridden) || overridden.getKind() != ElementKind.METHOD || overridden.getParameters().isEmpty()
+                            || !overridden.getModifiers().contains(Modifier.PUBLIC) || overridden.getModifiers().contains(Modifier.STATIC)) {
+                        continue;
+                    }
+
+                    for (final ListenerModel lm : ownerListeners(events, owner)) {
+                        final ExecutableElement overrider = listenerMethod(ownerElement, lm);
+                        if (overrider != null && elements.overrides(overrider, overridden, ownerElement)) {
+                            final List<String> rest = new ArrayList<>();
+                            for (int i = 1; i < overridden.getParameters().size(); i++) {
+                                rest.add(raw(overridden.getParameters().get(i).asType().toString()));
+                            }
+
+                            overrides.computeIfAbsent(owner, k -> new TreeSet<>()).add(stableId(superFqn, overridden.getSimpleName().toString(),
+                                    overridden.getParameters().getFirst().asType().toString(), String.join("|", rest)));
+                        }
+                    }
+                }
+            }
+        }
+
+        return overrides;
+    }
+
+    private void collectSupertypes(final TypeElement type, final Set<TypeElement> out) {
+        for (final TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type.asType())) {
+            if (supertype instanceof DeclaredType declared && declared.asElement() instanceof TypeElement element && out.add(element)) {
+                collectSupertypes(element, out);
+            }
+        }
+    }
+
+    // A listener method that might be overridden gets no invoker when it is, so every use of its invoker checks for one.
+    private static boolean optional(final ListenerModel lm, final Map<ListenerModel, List<Integer>> overriders, final Set<ListenerModel> overridable) {
+        return overriders.containsKey(lm) || overridable.contains(lm);
+    }
+
+    private static boolean isOverridable(final String owner, final Set<ListenerModel> overridable) {
+        for (final ListenerModel lm : overridable) {
+            if (lm.ownerFqn.equals(owner)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isOverridden(final String owner, final Map<ListenerModel, List<Integer>> overriders) {
+        for (final ListenerModel lm : overriders.keySet()) {
+            if (lm.ownerFqn.equals(owner)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static List<ListenerModel> ownerListeners(final Map<String, EventModel> events, final String owner) {
+        final List<ListenerModel> out = new ArrayList<>();
+        for (final EventModel em : events.values()) {
+            for (final BucketKey bk : em.orderedBucketKeys()) {
+                for (final ListenerModel lm : em.buckets.get(bk)) {
+                    if (lm.ownerFqn.equals(owner)) {
+                        out.add(lm);
+                    }
+                }
+            }
+        }
+
+        return out;
+    }
+
+    private static List<String> collectExecutors(final Map<String, EventModel> events, final String owner) {
+        final LinkedHashSet<String> executors = new LinkedHashSet<>();
+        for (final EventModel em : events.values()) {
+            for (final List<ListenerModel> list : em.buckets.values()) {
+                for (final ListenerModel lm : list) {
+                    if (lm.async && lm.ownerFqn.equals(owner)) {
+                        executors.add(lm.executor);
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(executors);
+    }
+
     private ListenerModel findListenerBySignature(EventModel em, String signature) {
         for (List<ListenerModel> bucket : em.buckets.values()) {
             for (ListenerModel listener : bucket) {
@@ -886,11 +2294,25 @@ public final class EventListenerProcessor extends AbstractProcessor {
 
     private record ParamPlan(int extraIndex, String declaredType, String patternKey, Set<String> guardBits, Set<ParamBinder.Extractor> extractors, String argExpr) {}
 
-    private record ListenerModel(String ownerFqn, String methodName, int priority, String eventFqn, String signatureKey, List<ParamPlan> paramPlans, String conditionKey) {}
+    private record ListenerModel(String ownerFqn, String methodName, int priority, String eventFqn, String signatureKey, List<ParamPlan> paramPlans, String conditionKey, boolean async, String executor, boolean receiveCancelled, List<Integer> keys) {}
 
     private record ExtractorModel(String localName, String declaredType, String initExpression) {}
 
-    private record BucketKey(String conditionKey, String signatureKey) {}
+    private record BucketKey(String conditionKey, String signatureKey, boolean receiveCancelled, Integer key) {}
+
+    private record PlanBucket(EventModel model, BucketKey key) {
+        String invokerType() {
+            return dispatcherClassName(model.eventFqn) + "." + dispatcherInvokerInterfaceName(model.eventFqn, key.signatureKey);
+        }
+
+        String field() {
+            return "s.store_" + sanitizeFqn(model.eventFqn) + "." + bucketFieldBase(model.eventFqn, key);
+        }
+
+        String invokeArgs() {
+            return buildInvokerArgs(model.buckets.get(key).getFirst().paramPlans);
+        }
+    }
 
     private static final class EventModel {
         final String eventFqn;
@@ -938,14 +2360,19 @@ public final class EventListenerProcessor extends AbstractProcessor {
 
         void addListener(final String conditionKey, final String signatureKey, final ListenerModel lm) {
             signatures.add(signatureKey);
-            final BucketKey key = new BucketKey(conditionKey, signatureKey);
-            buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(lm);
-            buckets.get(key).sort((a, b) -> Integer.compare(b.priority, a.priority));
+            // A keyed listener sits in one bucket per key, so a post only reads the buckets of its key.
+            final List<Integer> keys = lm.keys.isEmpty() ? Collections.singletonList(null) : lm.keys;
+            for (final Integer k : keys) {
+                final BucketKey key = new BucketKey(conditionKey, signatureKey, lm.receiveCancelled, k);
+                buckets.computeIfAbsent(key, x -> new ArrayList<>()).add(lm);
+                buckets.get(key).sort((a, b) -> Integer.compare(b.priority, a.priority));
+            }
         }
 
         List<BucketKey> orderedBucketKeys() {
             final List<BucketKey> out = new ArrayList<>(buckets.keySet());
-            out.sort(Comparator.comparing((BucketKey k) -> k.signatureKey).thenComparing(k -> k.conditionKey));
+            out.sort(Comparator.comparing((BucketKey k) -> k.signatureKey).thenComparing(k -> k.conditionKey).thenComparing(k -> k.receiveCancelled)
+                    .thenComparing(k -> k.key, Comparator.nullsFirst(Comparator.naturalOrder())));
             return out;
         }
     }